@@ -2,14 +2,34 @@ package niv.burning;
 
 import static net.minecraft.network.chat.Component.literal;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import net.fabricmc.fabric.api.gametest.v1.GameTest;
 import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
 import net.minecraft.core.BlockPos;
 import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
 import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.properties.BlockStateProperties;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import niv.burning.api.Burning;
+import niv.burning.api.BurningContext;
 import niv.burning.api.BurningStorage;
+import niv.burning.api.BurningThreshold;
+import niv.burning.api.PackedBurning;
+import niv.burning.api.base.SimpleBurningStorage;
+import niv.burning.api.level.BurningAreaQuery;
+import niv.burning.api.level.BurningJournal;
+import niv.burning.api.level.BurningStorageCache;
+import niv.burning.api.level.BurningStorageIndex;
+import niv.burning.api.level.BurningTransferScheduler;
+import niv.burning.api.level.RefuelScheduler;
+import niv.burning.api.network.BurningNetwork;
+import niv.burning.api.network.BurningNetworks;
+import niv.burning.impl.CachingBurningContext;
 import niv.burning.impl.FuelValuesBurningContext;
 
 @SuppressWarnings("java:S2187")
@@ -17,6 +37,12 @@ public class BurningGameTest {
 
     private static final BlockPos POS = new BlockPos(0, 1, 0);
 
+    static {
+        // A provider registered for a block entity type rather than for blocks
+        BurningStorage.SIDED.registerForBlockEntity(
+                (barrel, direction) -> new SimpleBurningStorage(), BlockEntityType.BARREL);
+    }
+
     @GameTest
     public void testFurnaceBurningStorage(GameTestHelper context) {
         context.setBlock(POS, Blocks.FURNACE);
@@ -70,4 +96,371 @@ public class BurningGameTest {
 
         game.succeed();
     }
+
+    @GameTest
+    public void testBurningNetworks(GameTestHelper game) {
+        final var context = new FuelValuesBurningContext(game.getLevel().fuelValues());
+        final var networks = BurningNetworks.of(game.getLevel());
+        final var a = game.absolutePos(new BlockPos(1, 1, 1));
+        final var b = a.east();
+        final var c = b.east();
+
+        var left = networks.addNode(a);
+        var right = networks.addNode(c);
+        game.assertTrue(left != right,
+                literal("Expected two networks, got one"));
+
+        try (var transaction = Transaction.openOuter()) {
+            left.insert(PackedBurning.ofTicks(Items.COAL, 1000), context, transaction);
+            right.insert(PackedBurning.ofTicks(Items.COAL, 600), context, transaction);
+            transaction.commit();
+        }
+
+        final var merged = networks.addNode(b);
+        game.assertTrue(merged.size() == 3 && networks.getNetwork(a) == merged && networks.getNetwork(c) == merged,
+                literal("Expected a single network of 3 nodes, got " + merged.size()));
+        game.assertTrue(merged.getFixedTicks() == 1600L << PackedBurning.FRACTION_BITS,
+                literal("Expected 1600, got " + (merged.getFixedTicks() >> PackedBurning.FRACTION_BITS)));
+
+        networks.removeNode(b);
+        left = networks.getNetwork(a);
+        right = networks.getNetwork(c);
+        game.assertTrue(left != null && right != null && left != right && left.size() == 1 && right.size() == 1,
+                literal("Expected two networks of 1 node"));
+        game.assertTrue(left.getFixedTicks() == 800L << PackedBurning.FRACTION_BITS
+                && right.getFixedTicks() == 800L << PackedBurning.FRACTION_BITS,
+                literal("Expected 800 and 800, got " + (left.getFixedTicks() >> PackedBurning.FRACTION_BITS)
+                        + " and " + (right.getFixedTicks() >> PackedBurning.FRACTION_BITS)));
+        final var state = left.getPublishedState();
+        game.assertTrue(state.ticks() == 800 && state.maxTicks() == BurningNetwork.NODE_CAPACITY && state.lit(),
+                literal("Expected a published state of 800 out of 1600, got " + state));
+        networks.removeNode(c);
+
+        // The furnace east of a is next to both a and the node north of it, and must be listed once
+        game.setBlock(new BlockPos(2, 1, 1), Blocks.FURNACE);
+        networks.addNode(a.north());
+        final var network = networks.addNode(a.north().east());
+        final var furnace = BurningStorage.SIDED.find(game.getLevel(), a.east(), null);
+        game.assertTrue(network == networks.getNetwork(a) && network.size() == 3,
+                literal("Expected a single network of 3 nodes, got " + network.size()));
+        game.assertTrue(furnace != null && network.getEndpoints().equals(List.of(furnace)),
+                literal("Expected the furnace as the only endpoint, got " + network.getEndpoints()));
+        game.assertTrue(network.getEndpoints() == network.getEndpoints(),
+                literal("Expected unchanged endpoints to be reused"));
+
+        game.setBlock(new BlockPos(2, 1, 1), Blocks.AIR);
+        game.assertTrue(network.getEndpoints().isEmpty(),
+                literal("Expected no endpoints, got " + network.getEndpoints()));
+
+        networks.removeNode(a);
+        networks.removeNode(a.north());
+        networks.removeNode(a.north().east());
+        game.succeed();
+    }
+
+    @GameTest
+    public void testBurningNetworkPools(GameTestHelper game) {
+        final var context = new FuelValuesBurningContext(game.getLevel().fuelValues());
+        final var networks = BurningNetworks.of(game.getLevel());
+        final var a = game.absolutePos(new BlockPos(1, 1, 1));
+        final var b = a.east();
+        final long pooled = 3000L << PackedBurning.FRACTION_BITS;
+
+        networks.addNode(a);
+        try (var transaction = Transaction.openOuter()) {
+            networks.addNode(b).insert(PackedBurning.ofTicks(Items.LAVA_BUCKET, 3000), context, transaction);
+            transaction.commit();
+        }
+
+        // Losing a node keeps the whole pool, beyond the capacity, until it drains
+        networks.removeNode(b);
+        var network = networks.getNetwork(a);
+        game.assertTrue(network != null && network.getFixedTicks() == pooled,
+                literal("Expected 3000 kept in a single node network"));
+        game.assertTrue(PackedBurning.isZero(network.simulateInsert(PackedBurning.ofTicks(Items.COAL, 1), context, null)),
+                literal("Expected a network over its capacity to accept nothing"));
+        game.assertTrue(network.getPublishedState().ticks() == 3000,
+                literal("Expected a published state of 3000, got " + network.getPublishedState()));
+
+        // Unloading a node keeps its share aside until it is added again
+        networks.addNode(b);
+        networks.unloadNode(b);
+        game.assertTrue(network.getFixedTicks() == pooled / 2,
+                literal("Expected 1500 left, got " + (network.getFixedTicks() >> PackedBurning.FRACTION_BITS)));
+        game.assertTrue(networks.addNode(b).getFixedTicks() == pooled,
+                literal("Expected 3000 once loaded again, got " + (network.getFixedTicks() >> PackedBurning.FRACTION_BITS)));
+
+        // Breaking the last node spills its pool into the endpoints
+        game.setBlock(new BlockPos(0, 1, 1), Blocks.FURNACE);
+        networks.removeNode(b);
+        networks.removeNode(a);
+        final var furnace = BurningStorage.SIDED.find(game.getLevel(), a.west(), null);
+        game.assertTrue(furnace != null && furnace.isBurning(),
+                literal("Expected the pool spilled into the furnace"));
+        game.assertTrue(networks.getNetwork(a) == null && network.getFixedTicks() == 0L,
+                literal("Expected no network left"));
+        game.succeed();
+    }
+
+    @GameTest
+    public void testBurningTransferScheduler(GameTestHelper game) {
+        final var context = new FuelValuesBurningContext(game.getLevel().fuelValues());
+        final var scheduler = BurningTransferScheduler.of(game.getLevel());
+        final var source = new SimpleBurningStorage();
+        final var low = new SimpleBurningStorage();
+        final var high = new SimpleBurningStorage() {
+            @Override
+            public int getPriority() {
+                return 1;
+            }
+        };
+
+        try (var transaction = Transaction.openOuter()) {
+            source.insert(PackedBurning.ofTicks(Items.COAL, 1600), context, transaction);
+            transaction.commit();
+        }
+
+        final long budget = scheduler.getBudgetNanos();
+        scheduler.setBudgetNanos(0L);
+        scheduler.schedule(source, low, PackedBurning.ofTicks(Items.COAL, 100), context);
+        scheduler.schedule(source, low, PackedBurning.ofTicks(Items.COAL, 100), context);
+        scheduler.schedule(source, high, PackedBurning.ofTicks(Items.COAL, 300), context);
+        game.assertTrue(scheduler.size() == 2,
+                literal("Expected 2 coalesced requests, got " + scheduler.size()));
+
+        // Without budget, a single request runs every tick, the highest priority one first
+        BurningTransferScheduler.tick(game.getLevel());
+        game.assertTrue(high.getCurrentBurning() == 300 && low.getCurrentBurning() == 0 && scheduler.size() == 1,
+                literal("Expected 300 and 0, got " + high.getCurrentBurning() + " and " + low.getCurrentBurning()));
+
+        // Coalesced requests move as much as the largest of them, not their sum
+        BurningTransferScheduler.tick(game.getLevel());
+        game.assertTrue(low.getCurrentBurning() == 100 && scheduler.size() == 0,
+                literal("Expected 100, got " + low.getCurrentBurning()));
+        game.assertTrue(source.getCurrentBurning() == 1200,
+                literal("Expected 1200, got " + source.getCurrentBurning()));
+        scheduler.setBudgetNanos(budget);
+
+        // Requests through caches are dropped once their target is removed
+        final var east = POS.east();
+        game.setBlock(POS, Blocks.FURNACE);
+        game.setBlock(east, Blocks.FURNACE);
+        final var from = BurningStorageCache.create(game.getLevel(), game.absolutePos(POS), null);
+        final var to = BurningStorageCache.create(game.getLevel(), game.absolutePos(east), null);
+        try (var transaction = Transaction.openOuter()) {
+            from.find().insert(PackedBurning.ofTicks(Items.COAL, 800), context, transaction);
+            transaction.commit();
+        }
+        scheduler.schedule(from, to, PackedBurning.ofTicks(Items.COAL, 100), context);
+        game.setBlock(east, Blocks.AIR);
+        BurningTransferScheduler.tick(game.getLevel());
+        game.assertTrue(scheduler.size() == 0,
+                literal("Expected the request dropped, got " + scheduler.size()));
+        game.assertTrue(from.find().getBurning(context).getValue(context).intValue() == 800,
+                literal("Expected 800 left, got " + from.find().getBurning(context).getValue(context).intValue()));
+        game.succeed();
+    }
+
+    @GameTest
+    public void testRefuelScheduler(GameTestHelper game) {
+        final var context = new FuelValuesBurningContext(game.getLevel().fuelValues());
+        final var scheduler = RefuelScheduler.of(game.getLevel());
+        final var storage = new SimpleBurningStorage();
+        final var calls = new ArrayList<String>();
+        final long now = game.getLevel().getGameTime();
+
+        try (var transaction = Transaction.openOuter()) {
+            storage.insert(PackedBurning.ofTicks(Items.COAL, 100), context, transaction);
+            transaction.commit();
+        }
+
+        final var refuel = scheduler.book(storage, 95, target -> calls.add("refuel"));
+        game.assertTrue(refuel != null && refuel.getDueTime() == now + 5,
+                literal("Expected a booking due in 5 ticks"));
+        scheduler.bookAt(now + 3, storage, target -> calls.add("first"));
+        scheduler.bookAt(now + 3, storage, target -> calls.add("second"));
+        scheduler.bookAt(now + 4, storage, target -> calls.add("cancelled")).cancel();
+
+        game.runAfterDelay(10, () -> {
+            game.assertTrue(calls.equals(List.of("first", "second", "refuel")),
+                    literal("Expected [first, second, refuel], got " + calls));
+            game.assertTrue(refuel.isDone(),
+                    literal("Expected the refuel to be done"));
+            game.succeed();
+        });
+    }
+
+    @GameTest
+    public void testBurningStorageCache(GameTestHelper game) {
+        game.setBlock(POS, Blocks.FURNACE);
+        final var cache = BurningStorageCache.create(game.getLevel(), game.absolutePos(POS), null);
+
+        final var furnace = cache.find();
+        game.assertTrue(furnace != null && furnace == BurningStorage.SIDED.find(game.getLevel(), game.absolutePos(POS), null),
+                literal("Expected the furnace storage, got " + furnace));
+        game.assertTrue(cache.find() == furnace,
+                literal("Expected the cached furnace storage"));
+
+        game.setBlock(POS, Blocks.SMOKER);
+        final var smoker = cache.find();
+        game.assertTrue(smoker != null && smoker != furnace,
+                literal("Expected the smoker storage, got " + smoker));
+
+        game.setBlock(POS, Blocks.AIR);
+        game.assertTrue(cache.find() == null,
+                literal("Expected no storage, got " + cache.find()));
+
+        game.succeed();
+    }
+
+    @GameTest
+    public void testBurningAreaQuery(GameTestHelper game) {
+        final var context = new FuelValuesBurningContext(game.getLevel().fuelValues());
+        game.setBlock(POS, Blocks.FURNACE);
+        game.setBlock(POS.east(), Blocks.CHEST);
+
+        final var storage = BurningStorage.SIDED.find(game.getLevel(), game.absolutePos(POS), null);
+        game.assertTrue(storage != null,
+                literal("Expected BurningStorage, get null"));
+
+        try (var transaction = Transaction.openOuter()) {
+            storage.insert(PackedBurning.ofTicks(Items.COAL, 800), context, transaction);
+            transaction.commit();
+        }
+
+        final var box = BoundingBox.fromCorners(game.absolutePos(POS), game.absolutePos(POS.east()));
+        final var result = BurningAreaQuery.query(game.getLevel(), box, context);
+        game.assertTrue(result.size() == 1,
+                literal("Expected 1 storage, got " + result.size()));
+        game.assertTrue(result.getPos(0).equals(game.absolutePos(POS)) && result.isLit(0),
+                literal("Expected the lit furnace, got " + result.getPos(0)));
+        game.assertTrue(result.getTicks(0) == PackedBurning.getTicks(storage.getPackedBurning(context)),
+                literal("Expected the SIDED storage's 800, got " + result.getTicks(0)));
+
+        game.succeed();
+    }
+
+    @GameTest
+    public void testBurningStorageIndex(GameTestHelper game) {
+        final var context = BurningContext.of(game.getLevel());
+        final var pos = game.absolutePos(POS);
+        final var index = BurningStorageIndex.of(game.getLevel());
+        game.setBlock(POS, Blocks.FURNACE);
+
+        game.assertTrue(contains(index.getReached(BurningThreshold.EMPTY), pos),
+                literal("Expected the new furnace to be indexed as empty"));
+        game.assertFalse(contains(index.getReached(BurningThreshold.LIT), pos),
+                literal("Expected the new furnace not to be indexed as lit"));
+
+        final var storage = BurningStorage.SIDED.find(game.getLevel(), pos, null);
+        try (var transaction = Transaction.openOuter()) {
+            storage.insert(PackedBurning.ofTicks(Items.COAL, 800), context, transaction);
+            transaction.commit();
+        }
+
+        game.assertTrue(contains(index.getReached(BurningThreshold.LIT), pos),
+                literal("Expected the furnace to be indexed as lit after an insert"));
+        game.assertFalse(contains(index.getReached(BurningThreshold.EMPTY), pos),
+                literal("Expected the furnace not to be indexed as empty after an insert"));
+
+        game.setBlock(POS, Blocks.AIR);
+
+        game.assertFalse(contains(index.getReached(BurningThreshold.LIT), pos),
+                literal("Expected the removed furnace not to be indexed"));
+
+        game.setBlock(POS, Blocks.BARREL);
+
+        game.assertTrue(contains(index.getReached(BurningThreshold.EMPTY), pos),
+                literal("Expected a block entity type provider to be indexed"));
+
+        game.setBlock(POS, Blocks.AIR);
+        game.succeed();
+    }
+
+    @GameTest
+    public void testBurningJournal(GameTestHelper game) {
+        final var context = BurningContext.of(game.getLevel());
+        final var pos = game.absolutePos(POS);
+        final var east = game.absolutePos(POS.east());
+        final var journal = BurningJournal.of(game.getLevel());
+        game.setBlock(POS, Blocks.FURNACE);
+
+        try (var transaction = Transaction.openOuter()) {
+            journal.record(pos, PackedBurning.ofTicks(Items.COAL, 1600), transaction);
+            journal.record(pos, PackedBurning.ofTicks(Items.COAL, 1600), transaction);
+            journal.record(east, PackedBurning.ofTicks(Items.COAL, 800), transaction);
+            transaction.commit();
+        }
+
+        final Runnable load = () -> {
+            BurningJournal.onChunkLoad(game.getLevel(), game.getLevel().getChunkAt(pos));
+            BurningJournal.onChunkLoad(game.getLevel(), game.getLevel().getChunkAt(east));
+            BurningJournal.tick(game.getLevel());
+        };
+        load.run();
+
+        final var storage = BurningStorage.SIDED.find(game.getLevel(), pos, null);
+        game.assertTrue(storage.getPackedBurning(context) == PackedBurning.ofTicks(Items.COAL, 1600),
+                literal("Expected the furnace to be filled with 1600 coal ticks"));
+        final var pending = journal.getPending(pos);
+        game.assertTrue(pending.length == 1 && pending[0] == PackedBurning.ofTicks(Items.COAL, 1600),
+                literal("Expected the 1600 coal ticks that did not fit to stay journaled"));
+        game.assertTrue(journal.getPending(east).length == 1,
+                literal("Expected the insertion without a storage to stay journaled"));
+
+        // Applied once a storage shows up there
+        game.setBlock(POS.east(), Blocks.FURNACE);
+        load.run();
+        game.assertTrue(journal.getPending(east).length == 0,
+                literal("Expected the insertion to be applied to the new furnace"));
+
+        // Dropped after too many loads without one
+        game.setBlock(POS.east(), Blocks.AIR);
+        try (var transaction = Transaction.openOuter()) {
+            journal.record(east, PackedBurning.ofTicks(Items.COAL, 800), transaction);
+            transaction.commit();
+        }
+        for (int i = 1; i < BurningJournal.MAX_MISSED_LOADS; i++) {
+            load.run();
+        }
+        game.assertTrue(journal.getPending(east).length == 1,
+                literal("Expected the insertion to stay journaled until the last load"));
+        load.run();
+        game.assertTrue(journal.getPending(east).length == 0,
+                literal("Expected the insertion to be dropped after " + BurningJournal.MAX_MISSED_LOADS + " loads"));
+
+        game.succeed();
+    }
+
+    @GameTest
+    public void testCachingBurningContext(GameTestHelper game) {
+        final var server = game.getLevel().getServer();
+        final var context = CachingBurningContext.of(server);
+        final int generation = CachingBurningContext.generation();
+
+        game.assertTrue(context == BurningContext.of(game.getLevel()),
+                literal("Expected the level's context to be the server's shared one"));
+        game.assertTrue(context.burnDuration(Items.COAL) == server.fuelValues().burnDuration(new ItemStack(Items.COAL)),
+                literal("Expected the cached coal duration to match the server's fuel values"));
+
+        CachingBurningContext.reload(server);
+        game.assertTrue(CachingBurningContext.of(server) == context && CachingBurningContext.generation() > generation,
+                literal("Expected a reload to rebuild the same instance under a new generation"));
+
+        CachingBurningContext.discard(server);
+        final var rebuilt = CachingBurningContext.of(server);
+        game.assertTrue(rebuilt != context && rebuilt.burnDuration(Items.COAL) == context.burnDuration(Items.COAL),
+                literal("Expected a discarded context to be built anew"));
+
+        game.succeed();
+    }
+
+    private static boolean contains(List<BurningStorageIndex.Entry> entries, BlockPos pos) {
+        for (var entry : entries) {
+            if (entry.getPos().equals(pos)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
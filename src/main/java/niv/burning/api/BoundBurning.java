@@ -0,0 +1,310 @@
+package niv.burning.api;
+
+import java.util.Objects;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * An immutable view of a {@link Burning} bound to a {@link BurningContext}, with its fuel's
+ * burn duration resolved once, on creation.
+ *
+ * <p>
+ * The bound context is {@linkplain #memoize(BurningContext) memoized}, unless it is
+ * {@linkplain BurningContext#isCheap() cheap}, and shared by every view derived from this one,
+ * so that a whole operation, such as a transfer, looks up each distinct fuel only once.
+ * </p>
+ *
+ * <p>
+ * Views are meant to be short-lived, and not to be shared between threads.
+ * </p>
+ *
+ * <pre>
+ * BoundBurning a = burning.bind(context);
+ * Burning sum = a.add(other).getBurning();
+ * </pre>
+ */
+public final class BoundBurning implements Comparable<BoundBurning> {
+
+    private static final int MEMO_SIZE = 4;
+
+    private final Burning burning;
+
+    private final BurningContext context;
+
+    private final int duration;
+
+    private BoundBurning(Burning burning, BurningContext context, int duration) {
+        this.burning = burning;
+        this.context = context;
+        this.duration = duration;
+    }
+
+    /**
+     * Binds the provided {@link Burning} to a memoized view of the provided context.
+     *
+     * @param burning must not be null
+     * @param context the {@link BurningContext} to use for lookup
+     * @return a non-null instance
+     */
+    public static BoundBurning of(Burning burning, BurningContext context) {
+        var memo = memoize(context);
+        return new BoundBurning(burning, memo, memo.burnDuration(burning.getFuel()));
+    }
+
+    /**
+     * Returns a context which forwards to the provided one, and remembers the burn durations of
+     * the last few fuels it was asked about.
+     * <p>
+     * The returned context is not thread-safe, and is meant to be used for a single operation only.
+     * {@linkplain BurningContext#isCheap() Cheap} contexts are not memoized, so that operations
+     * on them allocate nothing.
+     * </p>
+     *
+     * @param context the {@link BurningContext} to memoize
+     * @return a memoized context, or {@code context} itself if it is already memoized or cheap
+     */
+    public static BurningContext memoize(BurningContext context) {
+        return context instanceof Memo || context.isCheap() ? context : new Memo(context);
+    }
+
+    /**
+     * Returns the context memoized by {@link #memoize(BurningContext)}, so that callers caching values
+     * per context can recognize it across operations.
+     *
+     * @param context a context, memoized or not
+     * @return the memoized context, or {@code context} itself if it is not memoized
+     */
+    public static BurningContext unwrap(BurningContext context) {
+        return context instanceof Memo memo ? memo.source : context;
+    }
+
+    /**
+     * Returns the bound {@link Burning}.
+     *
+     * @return a non-null instance
+     */
+    public Burning getBurning() {
+        return this.burning;
+    }
+
+    /**
+     * Returns the context this view is bound to, memoized unless it is cheap.
+     *
+     * @return a non-null {@link BurningContext}
+     */
+    public BurningContext getContext() {
+        return this.context;
+    }
+
+    /**
+     * @return the bound {@link Burning}'s fuel
+     * @see Burning#getFuel()
+     */
+    public Item getFuel() {
+        return this.burning.getFuel();
+    }
+
+    /**
+     * @return the bound {@link Burning}'s percent
+     * @see Burning#getPercent()
+     */
+    public double getPercent() {
+        return this.burning.getPercent();
+    }
+
+    /**
+     * @return the fuel's burn duration, as resolved on creation
+     * @see Burning#getBurnDuration(BurningContext)
+     */
+    public int getBurnDuration() {
+        return this.duration;
+    }
+
+    /**
+     * @return the burning amount
+     * @see Burning#getValueAsDouble(BurningContext)
+     */
+    public double getValue() {
+        return this.duration * this.burning.getPercent();
+    }
+
+    /**
+     * @return the remaining burning amount
+     * @see Burning#getReverseValueAsDouble(BurningContext)
+     */
+    public double getReverseValue() {
+        return this.duration * (1d - this.burning.getPercent());
+    }
+
+    /**
+     * @return whether the bound {@link Burning} is zeroed
+     */
+    public boolean isZero() {
+        return this.burning.getPercent() == 0d;
+    }
+
+    /**
+     * Returns a view with the same fuel and the provided burning amount.
+     *
+     * @param value the new burning amount
+     * @return a non-null instance bound to the same context
+     * @see Burning#withValue(double, BurningContext)
+     */
+    public BoundBurning withValue(double value) {
+        return new BoundBurning(this.burning.withValue(value, this.context), this.context, this.duration);
+    }
+
+    /**
+     * Returns a view with the provided fuel and the same burning amount.
+     *
+     * @param fuel a new fuel item
+     * @return a non-null instance bound to the same context
+     * @see Burning#withFuel(Item, BurningContext)
+     */
+    public BoundBurning withFuel(Item fuel) {
+        return this.rebind(this.burning.withFuel(fuel, this.context));
+    }
+
+    /**
+     * Returns the sum of this view and the provided one.
+     *
+     * @param other must not be null
+     * @return a non-null instance bound to this view's context
+     * @see Burning#add(Burning, Burning, BurningContext)
+     */
+    public BoundBurning add(BoundBurning other) {
+        int otherDuration = this.durationOf(other);
+        var value = this.getValue() + otherDuration * other.getPercent();
+        return this.rebind(Burning.combine(
+                this.getFuel(), this.duration, other.getFuel(), otherDuration, value, this.context));
+    }
+
+    /**
+     * Returns the difference between this view and the provided one.
+     *
+     * @param other must not be null
+     * @return a non-null instance bound to this view's context
+     * @see Burning#subtract(Burning, Burning, BurningContext)
+     */
+    public BoundBurning subtract(BoundBurning other) {
+        int otherDuration = this.durationOf(other);
+        var value = Math.max(0, this.getValue() - otherDuration * other.getPercent());
+        return this.rebind(Burning.combine(
+                this.getFuel(), this.duration, other.getFuel(), otherDuration, value, this.context));
+    }
+
+    /**
+     * Returns the bound {@link Burning} as a {@link PackedBurning} value.
+     *
+     * @return a packed value
+     * @see PackedBurning#of(Burning, BurningContext)
+     */
+    public long toPacked() {
+        return PackedBurning.of(this.burning, this.context);
+    }
+
+    @Override
+    public int compareTo(BoundBurning other) {
+        return Double.compare(this.getValue(), this.durationOf(other) * other.getPercent());
+    }
+
+    @Override
+    public int hashCode() {
+        return this.burning.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        } else if (object instanceof BoundBurning that) {
+            return Objects.equals(this.burning, that.burning);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BoundBurning [" + this.burning + " of " + this.duration + "]";
+    }
+
+    private int durationOf(BoundBurning other) {
+        return this.context == other.context ? other.duration : this.context.burnDuration(other.getFuel());
+    }
+
+    private BoundBurning rebind(Burning result) {
+        if (result == this.burning) {
+            return this;
+        }
+        int resultDuration = result.getFuel() == this.getFuel()
+                ? this.duration
+                : this.context.burnDuration(result.getFuel());
+        return new BoundBurning(result, this.context, resultDuration);
+    }
+
+    /**
+     * A small, round-robin memo of the burn durations of the last fuels looked up,
+     * compared by identity.
+     */
+    private static final class Memo implements BurningContext {
+
+        private final BurningContext source;
+
+        private final Item[] fuels = new Item[MEMO_SIZE];
+
+        private final int[] durations = new int[MEMO_SIZE];
+
+        private int next = 0;
+
+        private Memo(BurningContext source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean isFuel(Item item) {
+            return this.burnDuration(item) > 0;
+        }
+
+        @Override
+        public boolean isFuel(ItemStack itemStack) {
+            return this.source.isComponentSensitive()
+                    ? this.source.isFuel(itemStack)
+                    : this.isFuel(itemStack.getItem());
+        }
+
+        @Override
+        public int burnDuration(Item item) {
+            for (int i = 0; i < MEMO_SIZE; i++) {
+                if (this.fuels[i] == item) {
+                    return this.durations[i];
+                }
+            }
+            int duration = this.source.burnDuration(item);
+            this.fuels[this.next] = item;
+            this.durations[this.next] = duration;
+            this.next = (this.next + 1) % MEMO_SIZE;
+            return duration;
+        }
+
+        @Override
+        public int burnDuration(ItemStack itemStack) {
+            return this.source.isComponentSensitive()
+                    ? this.source.burnDuration(itemStack)
+                    : this.burnDuration(itemStack.getItem());
+        }
+
+        @Override
+        public boolean isComponentSensitive() {
+            return this.source.isComponentSensitive();
+        }
+
+        @Override
+        public @Nullable FuelLadder getFuelLadder() {
+            return this.source.getFuelLadder();
+        }
+    }
+}
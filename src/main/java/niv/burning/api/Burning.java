@@ -1,9 +1,11 @@
 package niv.burning.api;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -46,8 +48,8 @@ public final class Burning {
      */
     public static final Codec<Burning> ZERO_CODEC;
 
-    private static final Map<Item, Burning> ZEROS;
-    private static final Map<Item, Burning> ONES;
+    private static final Interner ZEROS;
+    private static final Interner ONES;
 
     /**
      * A zeroed instance with {@link Items#LAVA_BUCKET} as fuel.
@@ -84,8 +86,8 @@ public final class Burning {
 
         ZERO_CODEC = BuiltInRegistries.ITEM.byNameCodec().xmap(Burning::ofZero, Burning::getFuel);
 
-        ZEROS = HashMap.newHashMap(50);
-        ONES = HashMap.newHashMap(50);
+        ZEROS = new Interner(0d);
+        ONES = new Interner(1d);
 
         LAVA_BUCKET = new Burning(0d, Items.LAVA_BUCKET).one().zero();
         BLAZE_ROD = new Burning(0d, Items.BLAZE_ROD).one().zero();
@@ -147,8 +149,20 @@ public final class Burning {
      *
      * @param context the {@link BurningContext} to use for lookup
      * @return a non-negative Double: the burning amount
+     * @see #getValueAsDouble(BurningContext)
      */
     public Double getValue(BurningContext context) {
+        return this.getValueAsDouble(context);
+    }
+
+    /**
+     * Returns the burning amount this object represents as a primitive, i.e.,
+     * {@link #getBurnDuration(BurningContext)} * {@link #getPercent()}.
+     *
+     * @param context the {@link BurningContext} to use for lookup
+     * @return a non-negative double: the burning amount
+     */
+    public double getValueAsDouble(BurningContext context) {
         return context.burnDuration(this.fuel) * this.percent;
     }
 
@@ -159,8 +173,19 @@ public final class Burning {
      *
      * @param context the {@link BurningContext} to use for lookup
      * @return a non-negative Double: the remaining burning amount
+     * @see #getReverseValueAsDouble(BurningContext)
      */
     public Double getReverseValue(BurningContext context) {
+        return this.getReverseValueAsDouble(context);
+    }
+
+    /**
+     * Returns the reverse of {@link #getValueAsDouble(BurningContext)} as a primitive.
+     *
+     * @param context the {@link BurningContext} to use for lookup
+     * @return a non-negative double: the remaining burning amount
+     */
+    public double getReverseValueAsDouble(BurningContext context) {
         return context.burnDuration(this.fuel) * (1d - this.percent);
     }
 
@@ -170,7 +195,7 @@ public final class Burning {
      * @return a non-null instance, cached for efficiency
      */
     public Burning zero() {
-        return ZEROS.computeIfAbsent(this.fuel, item -> new Burning(0, item));
+        return ZEROS.get(this.fuel);
     }
 
     /**
@@ -179,7 +204,7 @@ public final class Burning {
      * @return a non-null instance, cached for efficiency
      */
     public Burning one() {
-        return ONES.computeIfAbsent(this.fuel, item -> new Burning(1, item));
+        return ONES.get(this.fuel);
     }
 
     /**
@@ -201,23 +226,39 @@ public final class Burning {
      * @return a non-null instance with the same fuel but different percentage
      */
     public Burning withValue(int value, BurningContext context) {
-        double max;
-        if (value <= 0) {
-            return this.zero();
-        } else if (value <= (max = this.getBurnDuration(context))) {
-            return new Burning(value / max, this.fuel);
-        } else {
-            return this.one();
-        }
+        return this.withValue((double) value, context);
+    }
+
+    /**
+     * Returns an instance with the same fuel as this but with a percentage equal to
+     * the ratio between the provided value and this fuel's burn duration.
+     *
+     * <p>
+     * Same as {@link #withValue(int, BurningContext)}, but accepts fractions of a tick.
+     * </p>
+     *
+     * @param value   a double representing a fraction of this fuel's burn duration
+     * @param context the {@link BurningContext} to use for lookup
+     * @return a non-null instance with the same fuel but different percentage
+     */
+    public Burning withValue(double value, BurningContext context) {
+        return value <= 0 ? this.zero() : this.withValue(value, this.getBurnDuration(context));
     }
 
     /**
      * Returns an instance with the provided fuel but with a percentage such that
      * {@link #getValue(BurningContext)} returns the same value as this instance.
+     * <p>
+     * If the new fuel's burn duration cannot hold this instance's value, the context's
+     * {@link FuelLadder} best-fit fuel is used instead, if any, so the result can have a fuel
+     * other than {@code fuel}: callers that need that exact fuel should compare
+     * {@link #getFuel()} against it. Without a ladder, the result is {@code fuel} at full value instead.
+     * </p>
      *
      * @param fuel    a new fuel item
      * @param context the {@link BurningContext} to use for lookup
-     * @return a non-null instance with the new fuel and equivalent value, or this instance if not possible
+     * @return a non-null instance with the new fuel, or the best-fit one, and equivalent value,
+     *         or this instance if not possible
      */
     public Burning withFuel(Item fuel, BurningContext context) {
         double max;
@@ -225,13 +266,29 @@ public final class Burning {
         if (this.percent == 0) {
             return ofOptional(fuel, context).orElse(this);
         } else if ((max = context.burnDuration(fuel)) > 0
-                && (x = this.getValue(context) / max) <= 1d) {
+                && (x = this.getValueAsDouble(context) / max) <= 1d) {
             return new Burning(x, fuel);
         } else {
-            return ofOptional(fuel, context).orElse(this).one();
+            var ladder = max > 0 ? context.getFuelLadder() : null;
+            var fit = ladder == null ? null : ladder.bestFit(this.getValueAsDouble(context));
+            return fit == null
+                    ? ofOptional(fuel, context).orElse(this).one()
+                    : ofZero(fit).withValue(this.getValueAsDouble(context), context);
         }
     }
 
+    /**
+     * Returns a view of this instance bound to the provided context, which looks up
+     * this fuel's burn duration only once.
+     *
+     * @param context the {@link BurningContext} to use for lookup
+     * @return a non-null {@link BoundBurning}
+     * @see BoundBurning#of(Burning, BurningContext)
+     */
+    public BoundBurning bind(BurningContext context) {
+        return BoundBurning.of(this, context);
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -272,7 +329,7 @@ public final class Burning {
      */
     public static final @Nullable Burning of(Item fuel, BurningContext context) {
         return context.isFuel(fuel)
-                ? ZEROS.computeIfAbsent(fuel, item -> new Burning(0, item))
+                ? ZEROS.get(fuel)
                 : null;
     }
 
@@ -298,35 +355,39 @@ public final class Burning {
      * @return a {@link Burning} instance with the percent set to zero for the given fuel
      */
     public static final Burning ofZero(Item fuel) {
-        return ZEROS.computeIfAbsent(fuel, item -> new Burning(0, item));
+        return ZEROS.get(fuel);
     }
 
     /**
      * Adds two {@link Burning} instances together.
      *
      * <p>
-     * The result can have a's fuel, b's fuel, or {@link #MIN_VALUE}'s fuel,
-     * whichever is the smallest among those greater than or equal to the sum of a and b's values.
+     * The result's fuel is the one that best fits the sum of a and b's values: if the context has a
+     * {@link FuelLadder}, that is the smallest of its fuels that can hold the sum, or its largest one;
+     * otherwise, that is a's fuel, b's fuel, or {@link #MIN_VALUE}'s fuel, whichever is the smallest
+     * among those greater than or equal to the sum. The result can therefore have neither a's nor b's fuel.
      * </p>
      *
      * @param a       must not be null
      * @param b       must not be null
      * @param context the {@link BurningContext} to use for lookup
-     * @return a {@link Burning} instance representing the sum, or {@link #MAX_VALUE}, whichever is lower
+     * @return a {@link Burning} instance representing the sum, capped at the resulting fuel's burn duration
      */
     public static final Burning add(Burning a, Burning b, BurningContext context) {
-        var value = a.getValue(context) + b.getValue(context);
-        return a.getBurnDuration(context) >= b.getBurnDuration(context)
-                ? combine(a, b, value, context)
-                : combine(b, a, value, context);
+        int aDuration = a.getBurnDuration(context);
+        int bDuration = b.getBurnDuration(context);
+        var value = aDuration * a.percent + bDuration * b.percent;
+        return combine(a.fuel, aDuration, b.fuel, bDuration, value, context);
     }
 
     /**
      * Subtracts {@code b} from {@code a}.
      *
      * <p>
-     * The result can have a's fuel or b's fuel, whichever is the smallest among
-     * those greater than or equal to the difference of a and b's values.
+     * The result's fuel is the one that best fits the difference of a and b's values: if the context
+     * has a {@link FuelLadder}, that is the smallest of its fuels that can hold the difference;
+     * otherwise, that is a's fuel or b's fuel, whichever is the smallest among those greater than or
+     * equal to the difference. The result can therefore have neither a's nor b's fuel.
      * </p>
      *
      * @param a       must not be null
@@ -335,10 +396,10 @@ public final class Burning {
      * @return a {@link Burning} instance representing the difference
      */
     public static final Burning subtract(Burning a, Burning b, BurningContext context) {
-        var value = Math.max(0, a.getValue(context) - b.getValue(context));
-        return a.getBurnDuration(context) >= b.getBurnDuration(context)
-                ? combine(a, b, value, context)
-                : combine(b, a, value, context);
+        int aDuration = a.getBurnDuration(context);
+        int bDuration = b.getBurnDuration(context);
+        var value = Math.max(0, aDuration * a.percent - bDuration * b.percent);
+        return combine(a.fuel, aDuration, b.fuel, bDuration, value, context);
     }
 
     /**
@@ -363,7 +424,7 @@ public final class Burning {
         } else if (b == null) {
             return +1;
         } else {
-            return Double.compare(a.getValue(context), b.getValue(context));
+            return Double.compare(a.getValueAsDouble(context), b.getValueAsDouble(context));
         }
     }
 
@@ -391,13 +452,73 @@ public final class Burning {
         return compareValue(a, b, context) <= 0 ? a : b;
     }
 
-    private static final Burning combine(Burning high, Burning low, double value, BurningContext context) {
-        if (value <= low.getBurnDuration(context)) {
-            return low.withValue((int) value, context);
-        } else if (value <= high.getBurnDuration(context)) {
-            return high.withValue((int) value, context);
+    /**
+     * Returns an instance with the best-fit fuel for the provided value, reusing the provided
+     * burn durations rather than looking them up again.
+     */
+    static final Burning combine(
+            Item a, int aDuration, Item b, int bDuration, double value, BurningContext context) {
+        var fuel = bestFit(a, aDuration, b, bDuration, value, context);
+        int duration;
+        if (fuel == a) {
+            duration = aDuration;
+        } else if (fuel == b) {
+            duration = bDuration;
+        } else {
+            duration = context.burnDuration(fuel);
+        }
+        return ofZero(fuel).withValue((int) value, duration);
+    }
+
+    private Burning withValue(double value, int duration) {
+        if (value <= 0) {
+            return this.zero();
+        } else if (value <= duration) {
+            return new Burning(value / duration, this.fuel);
         } else {
-            return Burning.MIN_VALUE.withValue((int) value, context);
+            return this.one();
+        }
+    }
+
+    /**
+     * Same as {@link #bestFit(Item, int, Item, int, double, BurningContext)}, looking up the burn
+     * durations of {@code high} and {@code low} first.
+     */
+    static final Item bestFit(Item high, Item low, double value, BurningContext context) {
+        return bestFit(high, context.burnDuration(high), low, context.burnDuration(low), value, context);
+    }
+
+    /**
+     * Returns the fuel that best fits the provided value.
+     *
+     * <p>
+     * If the context has a {@link FuelLadder}, that is the smallest of all its fuels whose burn
+     * duration is greater than or equal to the value, or the largest one if none is.
+     * Otherwise, that is the smallest among {@code high}, {@code low}, and {@link #MIN_VALUE}'s fuel,
+     * checked in this order: {@code low}, {@code high}, and then {@link #MIN_VALUE}'s.
+     * </p>
+     */
+    static final Item bestFit(
+            Item high, int highDuration, Item low, int lowDuration, double value, BurningContext context) {
+        var ladder = context.getFuelLadder();
+        if (ladder != null && ladder.size() > 0) {
+            var fuel = ladder.bestFit(value);
+            return fuel == null ? ladder.largest() : fuel;
+        }
+        if (highDuration < lowDuration) {
+            var fuel = high;
+            high = low;
+            low = fuel;
+            var duration = highDuration;
+            highDuration = lowDuration;
+            lowDuration = duration;
+        }
+        if (value <= lowDuration) {
+            return low;
+        } else if (value <= highDuration) {
+            return high;
+        } else {
+            return MIN_VALUE.fuel;
         }
     }
 
@@ -408,4 +529,63 @@ public final class Burning {
     public static Optional<Burning> parse(HolderLookup.Provider provider, Tag tag) {
         return CODEC.parse(provider.createSerializationContext(NbtOps.INSTANCE), tag).result();
     }
+
+    /**
+     * A table of canonical instances with the same percent, indexed by
+     * the raw registry id of their fuel.
+     *
+     * <p>
+     * Lookups of filled slots are a lock-free array read. Slots are only filled,
+     * and the table only grown by copy, while holding the interner's lock, so that
+     * no instance is ever written to a discarded table, and concurrent callers
+     * always agree on the instance. Both are rare, as every fuel is interned once.
+     * </p>
+     *
+     * <p>
+     * Items do not carry their raw registry id, so every lookup still resolves it through
+     * {@link BuiltInRegistries#ITEM}, i.e. one identity hash lookup, before the array read.
+     * </p>
+     */
+    private static final class Interner {
+
+        private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Burning[].class);
+
+        private final double percent;
+
+        private final AtomicReference<Burning[]> table;
+
+        private Interner(double percent) {
+            this.percent = percent;
+            this.table = new AtomicReference<>(new Burning[0]);
+        }
+
+        private Burning get(Item fuel) {
+            int id = BuiltInRegistries.ITEM.getId(fuel);
+            if (id < 0) {
+                return new Burning(this.percent, fuel);
+            }
+            var slots = this.table.get();
+            if (id < slots.length) {
+                var burning = (Burning) SLOTS.getAcquire(slots, id);
+                if (burning != null) {
+                    return burning;
+                }
+            }
+            return this.fill(id, fuel);
+        }
+
+        private synchronized Burning fill(int id, Item fuel) {
+            var slots = this.table.get();
+            if (id >= slots.length) {
+                slots = Arrays.copyOf(slots, Math.max(id + 1, BuiltInRegistries.ITEM.size()));
+                this.table.set(slots);
+            }
+            var burning = (Burning) SLOTS.getAcquire(slots, id);
+            if (burning == null) {
+                burning = new Burning(this.percent, fuel);
+                SLOTS.setRelease(slots, id, burning);
+            }
+            return burning;
+        }
+    }
 }
@@ -0,0 +1,194 @@
+package niv.burning.api;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntMaps;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.world.item.Item;
+
+/**
+ * A mutable, reusable accumulator that sums any number of {@link Burning} values,
+ * {@link PackedBurning} values, or {@link BurningStorage} contents in raw fixed-point ticks.
+ *
+ * <p>
+ * Every distinct fuel's burn duration is looked up only once, and no intermediate
+ * {@link Burning} is created: the result is materialized only when requested, with the
+ * same best-fit rules as {@link Burning#add(Burning, Burning, BurningContext)}, that is,
+ * with the smallest fuel among those added whose burn duration can hold the sum, or
+ * with {@link Burning#MIN_VALUE}'s fuel otherwise, unless the context has a {@link FuelLadder},
+ * in which case the smallest fitting fuel among all the context's ones.
+ * </p>
+ *
+ * <p>
+ * To sum the contents of many storages:
+ *
+ * <pre>
+ * BurningAccumulator accumulator = new BurningAccumulator(context);
+ * accumulator.addAll(storages);
+ * Burning total = accumulator.toBurning();
+ * accumulator.reset();
+ * </pre>
+ * </p>
+ */
+public final class BurningAccumulator {
+
+    private final BurningContext context;
+
+    private final Reference2IntOpenHashMap<Item> durations;
+
+    private long fixedTicks;
+
+    public BurningAccumulator(BurningContext context) {
+        this.context = context;
+        this.durations = new Reference2IntOpenHashMap<>();
+        this.durations.defaultReturnValue(-1);
+        this.fixedTicks = 0L;
+    }
+
+    /**
+     * Returns the context this accumulator looks up burn durations with.
+     *
+     * @return a non-null {@link BurningContext}
+     */
+    public BurningContext getContext() {
+        return this.context;
+    }
+
+    /**
+     * Adds the value of the provided {@link Burning}.
+     *
+     * @param burning must not be null
+     * @return this accumulator
+     */
+    public BurningAccumulator add(Burning burning) {
+        int duration = this.burnDuration(burning.getFuel());
+        return this.addFixedTicks(Math.round(duration * burning.getPercent() * PackedBurning.ONE_TICK));
+    }
+
+    /**
+     * Adds the value of the provided {@link PackedBurning} value.
+     *
+     * @param packed a packed value created with this accumulator's context
+     * @return this accumulator
+     */
+    public BurningAccumulator add(long packed) {
+        this.burnDuration(PackedBurning.getFuel(packed));
+        return this.addFixedTicks(PackedBurning.getFixedTicks(packed));
+    }
+
+    /**
+     * Adds the currently contained burning of the provided storage.
+     *
+     * @param storage must not be null
+     * @return this accumulator
+     */
+    public BurningAccumulator add(BurningStorage storage) {
+        return this.add(storage.getPackedBurning(this.context));
+    }
+
+    /**
+     * Adds the currently contained burning of every provided storage.
+     *
+     * @param storages must not be null, nor contain null elements
+     * @return this accumulator
+     */
+    public BurningAccumulator addAll(Iterable<? extends BurningStorage> storages) {
+        for (var storage : storages) {
+            this.add(storage);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the accumulated amount in fixed-point ticks.
+     *
+     * @return a non-negative long
+     * @see PackedBurning#ONE_TICK
+     */
+    public long getFixedTicks() {
+        return this.fixedTicks;
+    }
+
+    /**
+     * Returns the accumulated amount in ticks, including the fractional part.
+     *
+     * @return a non-negative double
+     */
+    public double getValue() {
+        return this.fixedTicks / (double) PackedBurning.ONE_TICK;
+    }
+
+    /**
+     * Returns whether nothing but zeroes have been accumulated.
+     *
+     * @return true if the accumulated amount is zero
+     */
+    public boolean isEmpty() {
+        return this.fixedTicks == 0L;
+    }
+
+    /**
+     * Materializes the accumulated amount as a {@link PackedBurning} value, with the best-fit fuel.
+     *
+     * @return a packed value, clamped to the burn duration of its fuel
+     */
+    public long toPacked() {
+        var fuel = this.bestFit();
+        int duration = this.durations.getInt(fuel);
+        if (duration < 0) {
+            duration = Math.max(0, this.context.burnDuration(fuel));
+        }
+        return PackedBurning.pack(fuel, Math.min(this.fixedTicks, (long) duration << PackedBurning.FRACTION_BITS));
+    }
+
+    /**
+     * Materializes the accumulated amount as a {@link Burning}, with the best-fit fuel.
+     *
+     * @return a non-null {@link Burning}, clamped to the burn duration of its fuel
+     */
+    public Burning toBurning() {
+        return PackedBurning.toBurning(this.toPacked(), this.context);
+    }
+
+    /**
+     * Clears the accumulated amount and fuels, so that this accumulator can be reused.
+     *
+     * @return this accumulator
+     */
+    public BurningAccumulator reset() {
+        this.durations.clear();
+        this.fixedTicks = 0L;
+        return this;
+    }
+
+    private BurningAccumulator addFixedTicks(long value) {
+        this.fixedTicks = Math.min(PackedBurning.MAX_FIXED_TICKS, this.fixedTicks + Math.max(0L, value));
+        return this;
+    }
+
+    private int burnDuration(Item fuel) {
+        int duration = this.durations.getInt(fuel);
+        if (duration < 0) {
+            duration = Math.max(0, this.context.burnDuration(fuel));
+            this.durations.put(fuel, duration);
+        }
+        return duration;
+    }
+
+    private Item bestFit() {
+        var value = this.getValue();
+        var ladder = this.context.getFuelLadder();
+        if (ladder != null && ladder.size() > 0) {
+            var fit = ladder.bestFit(value);
+            return fit == null ? ladder.largest() : fit;
+        }
+        Item fuel = null;
+        int fuelDuration = Integer.MAX_VALUE;
+        for (var entry : Reference2IntMaps.fastIterable(this.durations)) {
+            int duration = entry.getIntValue();
+            if (value <= duration && duration < fuelDuration) {
+                fuel = entry.getKey();
+                fuelDuration = duration;
+            }
+        }
+        return fuel == null ? Burning.MIN_VALUE.getFuel() : fuel;
+    }
+}
@@ -1,24 +1,55 @@
 package niv.burning.api;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import niv.burning.impl.CachingBurningContext;
 
 /**
  * Represents a context for determining fuel status and burn duration for items and item stacks.
  * <p>
  * Implementations define what counts as fuel and how long it burns.
  * </p>
+ * <p>
+ * The {@link Item} based methods are the primary contract and are the ones used throughout this library.
+ * The {@link ItemStack} based methods are only meant to be used, and overridden, by contexts whose
+ * burn durations depend on item components, which must declare so through {@link #isComponentSensitive()}.
+ * </p>
+ * <p>
+ * The {@link ItemStack} based methods are abstract, as they have always been, so that existing contexts
+ * keep working; the {@link Item} based ones default to them, and should be overridden whenever a faster
+ * lookup is available.
+ * </p>
  */
 public interface BurningContext {
 
+    /**
+     * Returns the context shared by the server of the provided level, which looks burn durations up
+     * in a flat array and is rebuilt whenever the server's data packs are reloaded.
+     * <p>
+     * On a level without a server, returns a new context wrapping the level's fuel values instead.
+     * </p>
+     *
+     * @param level must not be null
+     * @return a non-null {@link BurningContext}
+     */
+    static BurningContext of(Level level) {
+        return CachingBurningContext.of(level);
+    }
+
     /**
      * Returns whether the provided {@link Item} is considered fuel in this context.
+     * <p>
+     * The default implementation forwards to {@link #isFuel(ItemStack)} with the item's default stack.
+     * </p>
      *
      * @param item must not be null
      * @return true if the provided {@link Item} is a fuel according to this context, false otherwise
      */
     default boolean isFuel(Item item) {
-        return this.isFuel(new ItemStack(item));
+        return this.isFuel(item.getDefaultInstance());
     }
 
     /**
@@ -31,12 +62,15 @@ public interface BurningContext {
 
     /**
      * Returns the burn duration for the provided {@link Item} if it is a fuel, or zero otherwise.
+     * <p>
+     * The default implementation forwards to {@link #burnDuration(ItemStack)} with the item's default stack.
+     * </p>
      *
      * @param item must not be null
      * @return a non-negative integer: the burn duration for the provided {@link Item} in this context
      */
     default int burnDuration(Item item) {
-        return burnDuration(new ItemStack(item));
+        return this.burnDuration(item.getDefaultInstance());
     }
 
     /**
@@ -46,4 +80,42 @@ public interface BurningContext {
      * @return a non-negative integer: the burn duration for the provided {@link ItemStack} in this context
      */
     int burnDuration(ItemStack itemStack);
+
+    /**
+     * Indicates whether the burn durations of this context depend on item components, in which case
+     * callers holding an {@link ItemStack} should use the {@link ItemStack} based methods.
+     *
+     * @return true if this context's {@link ItemStack} based methods may differ from the {@link Item}
+     *         based ones, false otherwise
+     */
+    default boolean isComponentSensitive() {
+        return false;
+    }
+
+    /**
+     * Returns whether the {@link Item} based lookups of this context are cheap enough, such as an array
+     * or map read, that memoizing them for a single operation would cost more than it saves.
+     * <p>
+     * {@link BoundBurning#memoize(BurningContext)} returns such contexts unchanged.
+     * </p>
+     *
+     * @return {@code true} if lookups are cheap, {@code false} by default
+     */
+    default boolean isCheap() {
+        return false;
+    }
+
+    /**
+     * Returns the ladder of all this context's fuels, sorted by burn duration, if this context maintains one.
+     * <p>
+     * When present, {@link Burning} and {@link PackedBurning} arithmetic use it to pick the smallest fuel
+     * able to hold their result. Implementations should cache it, and rebuild it only when their burn
+     * durations change.
+     * </p>
+     *
+     * @return a {@link FuelLadder} consistent with {@link #burnDuration(Item)}, or {@code null}
+     */
+    default @Nullable FuelLadder getFuelLadder() {
+        return null;
+    }
 }
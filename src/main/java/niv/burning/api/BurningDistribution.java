@@ -0,0 +1,105 @@
+package niv.burning.api;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+
+/**
+ * A strategy to split a burning budget among many targets, used by
+ * {@link BurningStorage#transferMany(BurningStorage, java.util.List, long, BurningContext, BurningDistribution, TransactionContext)}.
+ *
+ * <p>
+ * All amounts are whole ticks, relative to the context of the transfer.
+ * </p>
+ */
+@FunctionalInterface
+public interface BurningDistribution {
+
+    /**
+     * Splits the budget evenly, giving what a target cannot accept to the others.
+     */
+    BurningDistribution EVEN = (total, capacities, levels, shares) -> fill(total, capacities, i -> 1, shares);
+
+    /**
+     * Fills the targets holding the least burning first, one at a time, in ascending order.
+     */
+    BurningDistribution LOWEST_FIRST = (total, capacities, levels, shares) -> {
+        var order = new Integer[capacities.length];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (a, b) -> Long.compare(levels[a], levels[b]));
+        long remaining = total;
+        for (int i : order) {
+            if (remaining <= 0) {
+                break;
+            }
+            shares[i] = Math.min(capacities[i], remaining);
+            remaining -= shares[i];
+        }
+    };
+
+    /**
+     * Returns a distribution which splits the budget proportionally to the provided weights,
+     * giving what a target cannot accept to the others.
+     * Targets beyond the provided weights have weight zero, and receive nothing.
+     *
+     * @param weights non-negative weights, by target index
+     * @return a non-null distribution
+     */
+    static BurningDistribution weighted(int... weights) {
+        var copy = weights.clone();
+        return (total, capacities, levels, shares) -> fill(total, capacities,
+                i -> i < copy.length ? Math.max(0, copy[i]) : 0, shares);
+    }
+
+    /**
+     * Splits {@code total} among the targets.
+     *
+     * @param total      the budget, in ticks
+     * @param capacities how much each target would accept, in ticks
+     * @param levels     how much each target currently holds, in ticks
+     * @param shares     where to write how much each target should receive, in ticks;
+     *                   initially all zeroes, and it must not exceed {@code capacities}
+     *                   nor, in sum, {@code total}
+     */
+    void distribute(long total, long[] capacities, long[] levels, long[] shares);
+
+    /**
+     * Water-fills {@code shares} proportionally to {@code weights}, redistributing what saturated
+     * targets cannot accept, until either the budget or every target's capacity is exhausted.
+     */
+    private static void fill(long total, long[] capacities, IntUnaryOperator weights, long[] shares) {
+        long remaining = total;
+        while (remaining > 0) {
+            long weightSum = 0;
+            for (int i = 0; i < shares.length; i++) {
+                if (shares[i] < capacities[i]) {
+                    weightSum += weights.applyAsInt(i);
+                }
+            }
+            if (weightSum == 0) {
+                return;
+            }
+            long given = 0;
+            for (int i = 0; i < shares.length; i++) {
+                int weight = weights.applyAsInt(i);
+                if (weight > 0 && shares[i] < capacities[i]) {
+                    long share = Math.min(capacities[i] - shares[i],
+                            Math.min(remaining - given, (long) ((double) remaining * weight / weightSum)));
+                    shares[i] += share;
+                    given += share;
+                }
+            }
+            if (given == 0) {
+                // Every proportional share rounded down to zero: hand out the rest one tick at a time.
+                for (int i = 0; i < shares.length && given < remaining; i++) {
+                    if (weights.applyAsInt(i) > 0 && shares[i] < capacities[i]) {
+                        shares[i]++;
+                        given++;
+                    }
+                }
+            }
+            remaining -= given;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package niv.burning.api;
+
+import net.minecraft.world.item.Item;
+
+/**
+ * An immutable view of a {@link BurningStorage} at some point in time, as published through
+ * {@link BurningStorage#getPublishedState()}, safe to share with and read from any thread.
+ *
+ * @param fuel     the fuel the storage is burning, or last burnt
+ * @param ticks    the ticks of burning left
+ * @param maxTicks the ticks of burning the storage can hold with its fuel, or zero if unknown
+ * @param lit      whether the storage is burning
+ */
+public record BurningState(Item fuel, int ticks, int maxTicks, boolean lit) {
+
+    /**
+     * The state of an empty storage.
+     */
+    public static final BurningState EMPTY = new BurningState(Burning.MIN_VALUE.getFuel(), 0, 0, false);
+
+    /**
+     * Returns a state with the provided values, reusing the provided previous state if equal.
+     *
+     * @param previous the previously published state, may be null
+     * @param fuel     the fuel the storage is burning, or last burnt
+     * @param ticks    the ticks of burning left
+     * @param maxTicks the ticks of burning the storage can hold with its fuel, or zero if unknown
+     * @param lit      whether the storage is burning
+     * @return a non-null state
+     */
+    public static BurningState of(BurningState previous, Item fuel, int ticks, int maxTicks, boolean lit) {
+        if (previous != null && previous.fuel == fuel && previous.ticks == ticks
+                && previous.maxTicks == maxTicks && previous.lit == lit) {
+            return previous;
+        }
+        return new BurningState(fuel, ticks, maxTicks, lit);
+    }
+}
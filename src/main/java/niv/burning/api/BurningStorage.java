@@ -1,7 +1,8 @@
 package niv.burning.api;
 
+import java.util.List;
+
 import org.jetbrains.annotations.Nullable;
-import org.spongepowered.include.com.google.common.base.Objects;
 
 import net.fabricmc.fabric.api.lookup.v1.block.BlockApiLookup;
 import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
@@ -56,6 +57,41 @@ public interface BurningStorage {
      */
     Burning insert(Burning burning, BurningContext context, TransactionContext transaction);
 
+    /**
+     * Attempts to insert the provided packed burning into this storage.
+     * <p>
+     * Same as {@link #insert(Burning, BurningContext, TransactionContext)}, but on a
+     * {@link PackedBurning} value. The default implementation converts from and to {@link Burning};
+     * implementations should override it to avoid any allocation.
+     *
+     * @param burning     the packed burning to insert
+     * @param context     the {@link BurningContext} to use
+     * @param transaction the transaction this operation is part of
+     * @return a packed value with the same fuel and less than or equal ticks
+     *         than the one passed as argument: the amount that was inserted
+     */
+    default long insert(long burning, BurningContext context, TransactionContext transaction) {
+        return PackedBurning.of(this.insert(PackedBurning.toBurning(burning, context), context, transaction), context);
+    }
+
+    /**
+     * Returns how much of the provided packed burning {@link #insert(long, BurningContext, TransactionContext)}
+     * would insert, without modifying this storage.
+     * <p>
+     * The default implementation inserts into a nested transaction and aborts it;
+     * implementations should override it to compute the amount without any snapshot.
+     *
+     * @param burning     the packed burning to insert
+     * @param context     the {@link BurningContext} to use
+     * @param transaction the transaction the simulation is part of, or {@code null}
+     * @return the packed amount that would be inserted
+     */
+    default long simulateInsert(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        try (var simulation = Transaction.openNested(transaction)) {
+            return this.insert(burning, context, simulation);
+        }
+    }
+
     /**
      * Indicates whether this storage supports extraction of {@link Burning} values.
      * <p>
@@ -83,6 +119,41 @@ public interface BurningStorage {
      */
     Burning extract(Burning burning, BurningContext context, TransactionContext transaction);
 
+    /**
+     * Attempts to extract up to the provided packed burning from this storage.
+     * <p>
+     * Same as {@link #extract(Burning, BurningContext, TransactionContext)}, but on a
+     * {@link PackedBurning} value. The default implementation converts from and to {@link Burning};
+     * implementations should override it to avoid any allocation.
+     *
+     * @param burning     the packed burning to extract
+     * @param context     the {@link BurningContext} to use
+     * @param transaction the transaction this operation is part of
+     * @return a packed value with the same fuel and less than or equal ticks
+     *         than the one passed as argument: the amount that was extracted
+     */
+    default long extract(long burning, BurningContext context, TransactionContext transaction) {
+        return PackedBurning.of(this.extract(PackedBurning.toBurning(burning, context), context, transaction), context);
+    }
+
+    /**
+     * Returns how much of the provided packed burning {@link #extract(long, BurningContext, TransactionContext)}
+     * would extract, without modifying this storage.
+     * <p>
+     * The default implementation extracts from a nested transaction and aborts it;
+     * implementations should override it to compute the amount without any snapshot.
+     *
+     * @param burning     the packed burning to extract
+     * @param context     the {@link BurningContext} to use
+     * @param transaction the transaction the simulation is part of, or {@code null}
+     * @return the packed amount that would be extracted
+     */
+    default long simulateExtract(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        try (var simulation = Transaction.openNested(transaction)) {
+            return this.extract(burning, context, simulation);
+        }
+    }
+
     /**
      * Returns the currently contained {@link Burning} in this storage.
      *
@@ -91,6 +162,16 @@ public interface BurningStorage {
      */
     Burning getBurning(BurningContext context);
 
+    /**
+     * Returns the currently contained burning in this storage as a {@link PackedBurning} value.
+     *
+     * @param context the {@link BurningContext} to use
+     * @return the currently contained burning, packed
+     */
+    default long getPackedBurning(BurningContext context) {
+        return PackedBurning.of(this.getBurning(context), context);
+    }
+
     /**
      * Indicates whether this storage is currently in a burning state.
      * <p>
@@ -104,6 +185,86 @@ public interface BurningStorage {
      */
     boolean isBurning();
 
+    /**
+     * Returns how many ticks of its own burning this storage consumes every game tick while burning.
+     * <p>
+     * The default implementation returns zero, meaning that the rate is unknown, or that this storage
+     * does not consume burning on its own.
+     * </p>
+     *
+     * @return a non-negative int
+     */
+    default int getConsumptionRate() {
+        return 0;
+    }
+
+    /**
+     * Returns in how many game ticks this storage will be empty at its {@linkplain #getConsumptionRate()
+     * consumption rate}, if nothing is inserted in the meantime.
+     * <p>
+     * The default implementation returns -1, meaning unknown or never.
+     * </p>
+     *
+     * @return zero if this storage is already empty, a positive int, or -1 if unknown or never
+     */
+    default int getTicksUntilEmpty() {
+        return -1;
+    }
+
+    /**
+     * Returns the latest state published by this storage, for monitoring threads.
+     * <p>
+     * Unlike every other method of this interface, this one is safe to call from any thread.
+     * Storages publish their state on final commit, and whenever else they see fit,
+     * e.g. vanilla furnaces publish it at the end of every tick.
+     * The default implementation returns null, meaning that this storage does not publish its state;
+     * storages unable to tell when their state changes, e.g. dynamic ones, should keep it so,
+     * rather than publish a state which goes stale, and are then left out of
+     * {@link niv.burning.api.level.BurningStateFeed}.
+     * </p>
+     *
+     * @return an immutable state, or {@code null}
+     */
+    default @Nullable BurningState getPublishedState() {
+        return null;
+    }
+
+    /**
+     * Returns the priority of this storage, which schedulers and distributions may use to serve
+     * storages of higher priority first.
+     * <p>
+     * The default implementation returns zero.
+     * </p>
+     *
+     * @return an int, higher meaning sooner
+     */
+    default int getPriority() {
+        return 0;
+    }
+
+    /**
+     * Subscribes the provided listener to this storage reaching or leaving any {@link BurningThreshold},
+     * so that it does not need to poll this storage.
+     * <p>
+     * The default implementation does not support subscriptions, and returns false.
+     * </p>
+     *
+     * @param listener must not be null
+     * @return true if this storage supports subscriptions, and will notify the listener; false otherwise
+     */
+    default boolean subscribe(BurningThresholdListener listener) {
+        return false;
+    }
+
+    /**
+     * Unsubscribes the provided listener, if it was subscribed.
+     *
+     * @param listener must not be null
+     */
+    default void unsubscribe(BurningThresholdListener listener) {
+        // no-op
+    }
+
     /**
      * Transfers {@link Burning} between two burning storages, and returns the amount
      * that was successfully transferred.
@@ -120,19 +281,143 @@ public interface BurningStorage {
     public static Burning transfer(
             @Nullable BurningStorage from, @Nullable BurningStorage to,
             Burning burning, BurningContext context, @Nullable TransactionContext transaction) {
-        if (from != null && to != null) {
-            Burning extracted;
-            try (var test = Transaction.openNested(transaction)) {
-                extracted = from.extract(burning, context, test);
+        context = BoundBurning.memoize(context);
+        return PackedBurning.toBurning(
+                transfer(from, to, PackedBurning.of(burning, context), context, transaction),
+                burning, context);
+    }
+
+    /**
+     * Transfers packed burning between two burning storages, and returns the amount
+     * that was successfully transferred.
+     * <p>
+     * The transferred amount is planned first through {@link #simulateExtract} and
+     * {@link #simulateInsert}, and then committed with a single extraction and a single insertion.
+     * Storages reporting they do not {@linkplain #supportsExtraction() support extraction} or
+     * {@linkplain #supportsInsertion() insertion} are skipped without simulating anything.
+     * Unless the provided context is {@linkplain BurningContext#isCheap() cheap}, every burn duration
+     * is looked up through a memoized view of it, so that the whole transfer looks up each distinct
+     * fuel only once.
+     * </p>
+     *
+     * @param from        the source storage (may be null)
+     * @param to          the target storage (may be null)
+     * @param burning     the maximum packed burning that may be moved
+     * @param context     the {@link BurningContext} to use
+     * @param transaction the transaction this transfer is part of,
+     *                    or {@code null} if a transaction should be opened just for
+     *                    this transfer
+     * @return the packed amount of burning that was successfully transferred
+     * @see BoundBurning#memoize(BurningContext)
+     */
+    public static long transfer(
+            @Nullable BurningStorage from, @Nullable BurningStorage to,
+            long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        if (from != null && to != null && from.supportsExtraction() && to.supportsInsertion()) {
+            context = BoundBurning.memoize(context);
+            long planned = to.simulateInsert(from.simulateExtract(burning, context, transaction), context, transaction);
+            if (PackedBurning.isZero(planned)) {
+                return PackedBurning.zero(burning);
             }
             try (var actual = Transaction.openNested(transaction)) {
-                var inserted = to.insert(extracted, context, actual);
-                if (Objects.equal(inserted, from.extract(inserted, context, actual))) {
+                var inserted = to.insert(planned, context, actual);
+                if (inserted == from.extract(inserted, context, actual)) {
                     actual.commit();
                     return inserted;
                 }
             }
         }
-        return burning.zero();
+        return PackedBurning.zero(burning);
+    }
+
+    /**
+     * Transfers {@link Burning} from one storage to many, and returns the amount
+     * that was successfully transferred.
+     *
+     * @param from         the source storage (may be null)
+     * @param targets      the target storages, which may contain nulls
+     * @param burning      the maximum burning that may be moved, in total
+     * @param context      the {@link BurningContext} to use
+     * @param distribution how to split the burning among the targets
+     * @param transaction  the transaction this transfer is part of,
+     *                     or {@code null} if a transaction should be opened just for
+     *                     this transfer
+     * @return the total amount of {@link Burning} that was successfully transferred
+     * @see #transferMany(BurningStorage, List, long, BurningContext, BurningDistribution, TransactionContext)
+     */
+    public static Burning transferMany(
+            @Nullable BurningStorage from, List<? extends @Nullable BurningStorage> targets,
+            Burning burning, BurningContext context, BurningDistribution distribution,
+            @Nullable TransactionContext transaction) {
+        context = BoundBurning.memoize(context);
+        return PackedBurning.toBurning(
+                transferMany(from, targets, PackedBurning.of(burning, context), context, distribution, transaction),
+                burning, context);
+    }
+
+    /**
+     * Transfers packed burning from one storage to many, and returns the amount
+     * that was successfully transferred.
+     * <p>
+     * The amount available in the source and the room in every target are simulated first, and split
+     * by the provided {@link BurningDistribution}. Then, within a single nested transaction, every
+     * target receives its share, and the sum of what they accepted is extracted from the source at once.
+     * Either all of it is transferred, or nothing is.
+     * </p>
+     *
+     * @param from         the source storage (may be null)
+     * @param targets      the target storages, which may contain nulls
+     * @param burning      the maximum packed burning that may be moved, in total
+     * @param context      the {@link BurningContext} to use
+     * @param distribution how to split the burning among the targets
+     * @param transaction  the transaction this transfer is part of,
+     *                     or {@code null} if a transaction should be opened just for
+     *                     this transfer
+     * @return the total packed amount of burning that was successfully transferred
+     */
+    public static long transferMany(
+            @Nullable BurningStorage from, List<? extends @Nullable BurningStorage> targets,
+            long burning, BurningContext context, BurningDistribution distribution,
+            @Nullable TransactionContext transaction) {
+        int size = targets.size();
+        if (from == null || size == 0 || !from.supportsExtraction()) {
+            return PackedBurning.zero(burning);
+        }
+        context = BoundBurning.memoize(context);
+        long available = from.simulateExtract(burning, context, transaction);
+        int total = PackedBurning.getTicks(available);
+        if (total <= 0) {
+            return PackedBurning.zero(burning);
+        }
+        long budget = PackedBurning.withTicks(available, total);
+        var capacities = new long[size];
+        var levels = new long[size];
+        var shares = new long[size];
+        for (int i = 0; i < size; i++) {
+            var target = targets.get(i);
+            if (target != null && target != from && target.supportsInsertion()) {
+                capacities[i] = PackedBurning.getTicks(target.simulateInsert(budget, context, transaction));
+                levels[i] = PackedBurning.getTicks(target.getPackedBurning(context));
+            }
+        }
+        distribution.distribute(total, capacities, levels, shares);
+        try (var actual = Transaction.openNested(transaction)) {
+            long remaining = total;
+            long inserted = 0L;
+            for (int i = 0; i < size && remaining > 0; i++) {
+                int share = (int) Math.min(remaining, Math.min(capacities[i], shares[i]));
+                if (share > 0) {
+                    remaining -= share;
+                    inserted += PackedBurning.getFixedTicks(
+                            targets.get(i).insert(PackedBurning.withTicks(budget, share), context, actual));
+                }
+            }
+            long request = PackedBurning.withFixedTicks(budget, inserted);
+            if (inserted > 0L && from.extract(request, context, actual) == request) {
+                actual.commit();
+                return request;
+            }
+        }
+        return PackedBurning.zero(burning);
     }
 }
@@ -0,0 +1,32 @@
+package niv.burning.api;
+
+/**
+ * A state a {@link BurningStorage} can reach or leave, which {@link BurningThresholdListener}s
+ * subscribed to it are notified of.
+ */
+public enum BurningThreshold {
+
+    /**
+     * The storage contains no burning.
+     */
+    EMPTY,
+
+    /**
+     * The storage contains as much burning as its current fuel's burn duration.
+     */
+    FULL,
+
+    /**
+     * The storage is burning, as per {@link BurningStorage#isBurning()}.
+     */
+    LIT;
+
+    /**
+     * Returns the bit of this threshold in a mask of thresholds.
+     *
+     * @return a power of two
+     */
+    public int mask() {
+        return 1 << this.ordinal();
+    }
+}
@@ -0,0 +1,19 @@
+package niv.burning.api;
+
+/**
+ * Listens for a {@link BurningStorage} reaching or leaving a {@link BurningThreshold}.
+ *
+ * @see BurningStorage#subscribe(BurningThresholdListener)
+ */
+@FunctionalInterface
+public interface BurningThresholdListener {
+
+    /**
+     * Called, on the thread that changed the storage, whenever it reaches or leaves a threshold.
+     *
+     * @param storage   the storage that changed
+     * @param threshold the threshold that was crossed
+     * @param reached   true if the storage reached the threshold, false if it left it
+     */
+    void thresholdCrossed(BurningStorage storage, BurningThreshold threshold, boolean reached);
+}
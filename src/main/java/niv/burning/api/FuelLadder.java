@@ -0,0 +1,118 @@
+package niv.burning.api;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.Item;
+
+/**
+ * An immutable ladder of fuels sorted by burn duration, used to find the smallest fuel able to
+ * hold a given burning amount with a binary search.
+ *
+ * <p>
+ * Contexts may expose one through {@link BurningContext#getFuelLadder()}, in which case
+ * {@link Burning} and {@link PackedBurning} arithmetic pick the best-fit fuel among all the
+ * context's fuels rather than just among the operands' ones.
+ * </p>
+ */
+public final class FuelLadder {
+
+    private final Item[] fuels;
+
+    private final int[] durations;
+
+    private FuelLadder(Item[] fuels, int[] durations) {
+        this.fuels = fuels;
+        this.durations = durations;
+    }
+
+    /**
+     * Creates a ladder out of the provided fuels, as valued by the provided context.
+     * Items with no burn duration are ignored, and fuels with the same burn duration
+     * are ordered by raw registry id.
+     *
+     * @param fuels   must not be null
+     * @param context the {@link BurningContext} to use for lookup
+     * @return a non-null ladder
+     */
+    public static FuelLadder of(Iterable<Item> fuels, BurningContext context) {
+        record Rung(Item fuel, int duration, int id) {
+        }
+        var rungs = new ArrayList<Rung>();
+        for (var fuel : fuels) {
+            int duration = context.burnDuration(fuel);
+            if (duration > 0) {
+                rungs.add(new Rung(fuel, duration, BuiltInRegistries.ITEM.getId(fuel)));
+            }
+        }
+        rungs.sort(Comparator.comparingInt(Rung::duration).thenComparingInt(Rung::id));
+        var ladderFuels = new Item[rungs.size()];
+        var ladderDurations = new int[rungs.size()];
+        for (int i = 0; i < ladderFuels.length; i++) {
+            ladderFuels[i] = rungs.get(i).fuel();
+            ladderDurations[i] = rungs.get(i).duration();
+        }
+        return new FuelLadder(ladderFuels, ladderDurations);
+    }
+
+    /**
+     * Returns the number of fuels in this ladder.
+     *
+     * @return a non-negative int
+     */
+    public int size() {
+        return this.fuels.length;
+    }
+
+    /**
+     * Returns the fuel at the provided index, in ascending burn duration order.
+     *
+     * @param index between zero, inclusive, and {@link #size()}, exclusive
+     * @return a non-null {@link Item}
+     */
+    public Item getFuel(int index) {
+        return this.fuels[index];
+    }
+
+    /**
+     * Returns the burn duration of the fuel at the provided index.
+     *
+     * @param index between zero, inclusive, and {@link #size()}, exclusive
+     * @return a positive int
+     */
+    public int getBurnDuration(int index) {
+        return this.durations[index];
+    }
+
+    /**
+     * Returns the smallest fuel whose burn duration is greater than or equal to the provided value.
+     *
+     * @param value a burning amount in ticks
+     * @return the best-fit fuel, or {@code null} if no fuel in this ladder can hold {@code value}
+     */
+    public @Nullable Item bestFit(double value) {
+        int low = 0;
+        int high = this.durations.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.durations[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low < this.fuels.length ? this.fuels[low] : null;
+    }
+
+    /**
+     * Returns the fuel with the greatest burn duration.
+     *
+     * @return the last fuel of this ladder, or {@code null} if it is empty
+     */
+    public @Nullable Item largest() {
+        return this.fuels.length > 0 ? this.fuels[this.fuels.length - 1] : null;
+    }
+}
@@ -0,0 +1,473 @@
+package niv.burning.api;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.Items;
+
+/**
+ * Static, allocation-free operations on burning values packed into a primitive {@code long}.
+ *
+ * <p>
+ * A packed value holds the raw registry id of its fuel in the upper {@value #FUEL_BITS} bits,
+ * and its burning amount, as fixed-point ticks with {@value #FRACTION_BITS} fractional bits,
+ * in the lower {@value #TICKS_BITS} bits.
+ * </p>
+ *
+ * <p>
+ * Unlike the percentage of a {@link Burning}, which does not depend on any context, the ticks of a
+ * packed value are expressed in the {@link BurningContext} used to create it, and the same context
+ * should be passed to every operation on that value.
+ * </p>
+ *
+ * <p>
+ * To create a simple value:
+ *
+ * <pre>
+ * long coal = PackedBurning.ofTicks(Items.COAL, 800);
+ * long lava = PackedBurning.withFuel(coal, Items.LAVA_BUCKET, context);
+ * </pre>
+ * </p>
+ */
+public final class PackedBurning {
+
+    /**
+     * The number of bits used to store the raw registry id of the fuel.
+     */
+    public static final int FUEL_BITS = 24;
+
+    /**
+     * The number of bits used to store the fixed-point ticks.
+     */
+    public static final int TICKS_BITS = Long.SIZE - FUEL_BITS;
+
+    /**
+     * The number of fractional bits of the fixed-point ticks.
+     */
+    public static final int FRACTION_BITS = 8;
+
+    /**
+     * One tick, in fixed-point ticks.
+     */
+    public static final long ONE_TICK = 1L << FRACTION_BITS;
+
+    /**
+     * The maximum amount of fixed-point ticks a packed value can hold.
+     */
+    public static final long MAX_FIXED_TICKS = (1L << TICKS_BITS) - 1L;
+
+    private static final int MAX_FUEL_ID = (1 << FUEL_BITS) - 1;
+
+    /**
+     * A zeroed value with {@link Items#LAVA_BUCKET} as fuel, equivalent to {@link Burning#MIN_VALUE}.
+     */
+    public static final long MIN_VALUE;
+
+    static {
+        MIN_VALUE = zero(Items.LAVA_BUCKET);
+    }
+
+    private PackedBurning() {
+        // no-op
+    }
+
+    /**
+     * Packs the provided fuel and fixed-point ticks into a single value.
+     *
+     * @param fuel       must be a registered item
+     * @param fixedTicks the burning amount in fixed-point ticks, clamped between zero and {@link #MAX_FIXED_TICKS}
+     * @return the packed value
+     * @throws IllegalArgumentException if {@code fuel} is not a registered item
+     */
+    public static long pack(Item fuel, long fixedTicks) {
+        if (!isPackable(fuel)) {
+            throw new IllegalArgumentException("Cannot pack unregistered fuel " + fuel);
+        }
+        return ((long) BuiltInRegistries.ITEM.getId(fuel) << TICKS_BITS) | clampFixedTicks(fixedTicks);
+    }
+
+    /**
+     * Returns a zeroed value with the provided fuel.
+     *
+     * @param fuel must be a registered item
+     * @return the packed value
+     */
+    public static long zero(Item fuel) {
+        return pack(fuel, 0L);
+    }
+
+    /**
+     * Returns a value with the provided fuel and whole ticks.
+     *
+     * @param fuel  must be a registered item
+     * @param ticks the burning amount in ticks
+     * @return the packed value
+     */
+    public static long ofTicks(Item fuel, int ticks) {
+        return pack(fuel, (long) Math.max(0, ticks) << FRACTION_BITS);
+    }
+
+    /**
+     * Returns a value with the provided amount, and the provided fuel if its burn duration can hold it,
+     * or the context's {@link FuelLadder} best-fit fuel, or {@link #MIN_VALUE}'s fuel otherwise.
+     * <p>
+     * Meant for storages pooling burning of any fuel, to report their content.
+     * </p>
+     *
+     * @param fuel       the preferred fuel, must be a registered item
+     * @param fixedTicks the burning amount in fixed-point ticks
+     * @param context    the {@link BurningContext} to use for lookup
+     * @return the packed value, clamped to the burn duration of its fuel
+     */
+    public static long fit(Item fuel, long fixedTicks, BurningContext context) {
+        int duration = context.burnDuration(fuel);
+        if (((long) duration << FRACTION_BITS) < fixedTicks) {
+            var ladder = context.getFuelLadder();
+            var best = ladder == null ? null : ladder.bestFit(fixedTicks / (double) ONE_TICK);
+            fuel = best == null ? Items.LAVA_BUCKET : best;
+            duration = context.burnDuration(fuel);
+        }
+        return pack(fuel, Math.min(fixedTicks, (long) duration << FRACTION_BITS));
+    }
+
+    /**
+     * Returns the packed equivalent of the provided {@link Burning} in the provided context.
+     * <p>
+     * As {@link Burning} instances may hold any fuel, one whose fuel is not a registered item,
+     * and thus has no burn duration, is packed as {@link #MIN_VALUE}, so that storages move none of it.
+     * </p>
+     *
+     * @param burning must not be null
+     * @param context the {@link BurningContext} to use for lookup
+     * @return the packed value
+     */
+    public static long of(Burning burning, BurningContext context) {
+        var fuel = burning.getFuel();
+        if (!isPackable(fuel)) {
+            return MIN_VALUE;
+        }
+        return pack(fuel, Math.round(burning.getValueAsDouble(context) * ONE_TICK));
+    }
+
+    /**
+     * Returns whether the provided fuel can be packed, i.e. is a registered item.
+     *
+     * @param fuel must not be null
+     * @return true if {@link #pack(Item, long)} accepts the provided fuel, false otherwise
+     */
+    public static boolean isPackable(Item fuel) {
+        int id = BuiltInRegistries.ITEM.getId(fuel);
+        return id >= 0 && id <= MAX_FUEL_ID;
+    }
+
+    /**
+     * Returns the {@link Burning} equivalent of the provided packed value in the provided context.
+     *
+     * <p>
+     * Values greater than the fuel's burn duration are clamped to it, as in
+     * {@link Burning#withValue(int, BurningContext)}.
+     * </p>
+     *
+     * @param packed  a packed value
+     * @param context the {@link BurningContext} to use for lookup
+     * @return a non-null {@link Burning} instance
+     */
+    public static Burning toBurning(long packed, BurningContext context) {
+        var zero = Burning.ofZero(getFuel(packed));
+        long fixedTicks = getFixedTicks(packed);
+        if (fixedTicks == 0L) {
+            return zero;
+        } else if ((fixedTicks & (ONE_TICK - 1L)) == 0L) {
+            return zero.withValue(getTicks(packed), context);
+        } else {
+            return zero.withValue(fixedTicks / (double) ONE_TICK, context);
+        }
+    }
+
+    /**
+     * Returns the {@link Burning} equivalent of the provided packed result of an operation
+     * on the provided {@link Burning}, e.g. of an insertion of {@code of(burning, context)}.
+     *
+     * <p>
+     * If the provided burning's fuel cannot be packed, and so was moved as {@link #MIN_VALUE},
+     * the result is the zero of that fuel rather than of {@link #MIN_VALUE}'s.
+     * </p>
+     *
+     * @param packed  the packed result
+     * @param burning the {@link Burning} the operation was requested with
+     * @param context the {@link BurningContext} to use for lookup
+     * @return a non-null {@link Burning} instance
+     * @see #of(Burning, BurningContext)
+     */
+    public static Burning toBurning(long packed, Burning burning, BurningContext context) {
+        return isPackable(burning.getFuel()) ? toBurning(packed, context) : burning.zero();
+    }
+
+    /**
+     * Returns the raw registry id of the fuel of the provided packed value.
+     *
+     * @param packed a packed value
+     * @return a non-negative int
+     */
+    public static int getFuelId(long packed) {
+        return (int) (packed >>> TICKS_BITS);
+    }
+
+    /**
+     * Returns the fuel of the provided packed value.
+     *
+     * @param packed a packed value
+     * @return a non-null {@link Item}
+     */
+    public static Item getFuel(long packed) {
+        return BuiltInRegistries.ITEM.byId(getFuelId(packed));
+    }
+
+    /**
+     * Returns the burning amount of the provided packed value in fixed-point ticks.
+     *
+     * @param packed a packed value
+     * @return a non-negative long
+     */
+    public static long getFixedTicks(long packed) {
+        return packed & MAX_FIXED_TICKS;
+    }
+
+    /**
+     * Returns the burning amount of the provided packed value in whole ticks, rounded down.
+     *
+     * @param packed a packed value
+     * @return a non-negative int, saturated to {@link Integer#MAX_VALUE}
+     */
+    public static int getTicks(long packed) {
+        return (int) Math.min(Integer.MAX_VALUE, getFixedTicks(packed) >>> FRACTION_BITS);
+    }
+
+    /**
+     * Returns the burning amount of the provided packed value in whole ticks, rounded down,
+     * after converting it between two burn durations of its fuel.
+     *
+     * @param packed a packed value
+     * @param from   the burn duration {@code packed} is relative to
+     * @param to     the burn duration the result is relative to
+     * @return a non-negative int, saturated to {@link Integer#MAX_VALUE}
+     * @see #rescale(long, int, int)
+     */
+    public static int getTicks(long packed, int from, int to) {
+        return (int) Math.min(Integer.MAX_VALUE, rescale(getFixedTicks(packed), from, to) >>> FRACTION_BITS);
+    }
+
+    /**
+     * Returns the burning amount of the provided packed value in ticks, including the fractional part.
+     *
+     * @param packed a packed value
+     * @return a non-negative double
+     */
+    public static double getValue(long packed) {
+        return getFixedTicks(packed) / (double) ONE_TICK;
+    }
+
+    /**
+     * Returns the burn duration of the fuel of the provided packed value.
+     *
+     * @param packed  a packed value
+     * @param context the {@link BurningContext} to use for lookup
+     * @return a non-negative int
+     */
+    public static int getBurnDuration(long packed, BurningContext context) {
+        return context.burnDuration(getFuel(packed));
+    }
+
+    /**
+     * Returns whether the provided packed value holds no burning.
+     *
+     * @param packed a packed value
+     * @return true if the burning amount is zero
+     */
+    public static boolean isZero(long packed) {
+        return getFixedTicks(packed) == 0L;
+    }
+
+    /**
+     * Returns a zeroed value with the same fuel as the provided one.
+     *
+     * @param packed a packed value
+     * @return the packed value
+     */
+    public static long zero(long packed) {
+        return packed & ~MAX_FIXED_TICKS;
+    }
+
+    /**
+     * Returns a value with the same fuel as the provided one and a burning amount equal to its
+     * burn duration.
+     *
+     * @param packed  a packed value
+     * @param context the {@link BurningContext} to use for lookup
+     * @return the packed value
+     */
+    public static long one(long packed, BurningContext context) {
+        return withTicks(packed, getBurnDuration(packed, context));
+    }
+
+    /**
+     * Returns a value with the same fuel as the provided one and the provided whole ticks.
+     *
+     * @param packed a packed value
+     * @param ticks  the burning amount in ticks
+     * @return the packed value
+     */
+    public static long withTicks(long packed, int ticks) {
+        return withFixedTicks(packed, (long) Math.max(0, ticks) << FRACTION_BITS);
+    }
+
+    /**
+     * Returns a value with the same fuel as the provided one and the provided whole ticks,
+     * after converting them between two burn durations of its fuel.
+     *
+     * @param packed a packed value
+     * @param ticks  the burning amount in ticks, relative to {@code from}
+     * @param from   the burn duration {@code ticks} is relative to
+     * @param to     the burn duration the result is relative to
+     * @return the packed value
+     * @see #rescale(long, int, int)
+     */
+    public static long withTicks(long packed, int ticks, int from, int to) {
+        return withFixedTicks(packed, rescale((long) Math.max(0, ticks) << FRACTION_BITS, from, to));
+    }
+
+    /**
+     * Returns a value with the same fuel as the provided one and the provided fixed-point ticks.
+     *
+     * @param packed     a packed value
+     * @param fixedTicks the burning amount in fixed-point ticks
+     * @return the packed value
+     */
+    public static long withFixedTicks(long packed, long fixedTicks) {
+        return zero(packed) | clampFixedTicks(fixedTicks);
+    }
+
+    /**
+     * Returns a value with the provided fuel and the same burning amount as the provided one.
+     *
+     * <p>
+     * If the amount exceeds the burn duration of the new fuel, the result has the context's
+     * {@link FuelLadder} best-fit fuel instead, if any, or is clamped to the new fuel's burn duration.
+     * </p>
+     *
+     * @param packed  a packed value
+     * @param fuel    a new fuel item
+     * @param context the {@link BurningContext} to use for lookup
+     * @return the packed value, or {@code packed} itself if {@code fuel} is not a fuel
+     */
+    public static long withFuel(long packed, Item fuel, BurningContext context) {
+        int duration = context.burnDuration(fuel);
+        if (duration <= 0) {
+            return packed;
+        }
+        long fixedTicks = getFixedTicks(packed);
+        long maxFixedTicks = (long) duration << FRACTION_BITS;
+        if (fixedTicks > maxFixedTicks) {
+            var ladder = context.getFuelLadder();
+            var fit = ladder == null ? null : ladder.bestFit(fixedTicks / (double) ONE_TICK);
+            if (fit != null) {
+                return pack(fit, fixedTicks);
+            }
+        }
+        return pack(fuel, Math.min(fixedTicks, maxFixedTicks));
+    }
+
+    /**
+     * Adds two packed values together.
+     *
+     * <p>
+     * The result follows the same fuel rules as {@link Burning#add(Burning, Burning, BurningContext)}.
+     * </p>
+     *
+     * @param a       a packed value
+     * @param b       a packed value
+     * @param context the {@link BurningContext} to use for lookup
+     * @return the packed sum
+     */
+    public static long add(long a, long b, BurningContext context) {
+        return combine(a, b, getFixedTicks(a) + getFixedTicks(b), context);
+    }
+
+    /**
+     * Subtracts {@code b} from {@code a}.
+     *
+     * <p>
+     * The result follows the same fuel rules as {@link Burning#subtract(Burning, Burning, BurningContext)}.
+     * </p>
+     *
+     * @param a       a packed value
+     * @param b       a packed value
+     * @param context the {@link BurningContext} to use for lookup
+     * @return the packed difference
+     */
+    public static long subtract(long a, long b, BurningContext context) {
+        return combine(a, b, Math.max(0L, getFixedTicks(a) - getFixedTicks(b)), context);
+    }
+
+    /**
+     * Compares the burning amount of two packed values.
+     *
+     * @param a a packed value
+     * @param b a packed value
+     * @return 0 if equal; a value less than 0 if a's amount is less; a value greater than 0 if a's amount is greater
+     */
+    public static int compare(long a, long b) {
+        return Long.compare(getFixedTicks(a), getFixedTicks(b));
+    }
+
+    /**
+     * Returns the packed value with the maximum burning amount.
+     *
+     * @param a a packed value
+     * @param b a packed value
+     * @return {@code a} if {@code compare(a, b) >= 0}, {@code b} otherwise
+     */
+    public static long max(long a, long b) {
+        return compare(a, b) >= 0 ? a : b;
+    }
+
+    /**
+     * Returns the packed value with the minimum burning amount.
+     *
+     * @param a a packed value
+     * @param b a packed value
+     * @return {@code a} if {@code compare(a, b) <= 0}, {@code b} otherwise
+     */
+    public static long min(long a, long b) {
+        return compare(a, b) <= 0 ? a : b;
+    }
+
+    /**
+     * Converts fixed-point ticks between two burn durations of the same fuel, such as
+     * the duration in a caller's context and the duration in a storage's own scale.
+     *
+     * @param fixedTicks the fixed-point ticks to convert
+     * @param from       the burn duration {@code fixedTicks} is relative to
+     * @param to         the burn duration the result is relative to
+     * @return the converted fixed-point ticks, or zero if either duration is not positive
+     */
+    public static long rescale(long fixedTicks, int from, int to) {
+        if (from == to) {
+            return fixedTicks;
+        } else if (from <= 0 || to <= 0) {
+            return 0L;
+        } else if (fixedTicks <= Long.MAX_VALUE / to) {
+            return fixedTicks * to / from;
+        } else {
+            return (long) ((double) fixedTicks * to / from);
+        }
+    }
+
+    private static long combine(long a, long b, long fixedTicks, BurningContext context) {
+        var fuel = Burning.bestFit(getFuel(a), getFuel(b), fixedTicks / (double) ONE_TICK, context);
+        return pack(fuel, Math.min(fixedTicks, (long) context.burnDuration(fuel) << FRACTION_BITS));
+    }
+
+    private static long clampFixedTicks(long fixedTicks) {
+        return Math.clamp(fixedTicks, 0L, MAX_FIXED_TICKS);
+    }
+}
@@ -0,0 +1,431 @@
+package niv.burning.api.base;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.Item;
+import niv.burning.api.Burning;
+import niv.burning.api.BurningContext;
+import niv.burning.api.BurningState;
+import niv.burning.api.BurningStorage;
+import niv.burning.api.PackedBurning;
+
+/**
+ * A pool of many virtual burning storages, e.g. of machines without a block entity, kept in
+ * parallel primitive arrays rather than as one {@link SimpleBurningStorage} object each.
+ *
+ * <p>
+ * Every storage of the pool is addressed by an index, and behaves like a {@link SimpleBurningStorage}
+ * through its {@link Handle}. The whole pool takes part in transactions as a single participant,
+ * which undoes aborted changes from a log of the slots they modified.
+ * </p>
+ *
+ * <p>
+ * {@link #consume(int, int, int)} and {@link #tick()} burn many storages at once, in parallel
+ * over large ranges. They must not be called while a transaction is open, nor concurrently with
+ * any other operation on this pool.
+ * </p>
+ *
+ * <pre>
+ * BurningStoragePool pool = new BurningStoragePool(1024);
+ * BurningStorage storage = pool.get(pool.allocate());
+ * ...
+ * pool.tick();
+ * </pre>
+ */
+public class BurningStoragePool extends SnapshotParticipant<Integer> {
+
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    private static final int EMPTY_FUEL_ID = PackedBurning.getFuelId(PackedBurning.zero(Burning.MIN_VALUE.getFuel()));
+
+    private int[] current;
+
+    private int[] max;
+
+    private int[] fuels;
+
+    private volatile AtomicReferenceArray<BurningState> published;
+
+    private volatile AtomicIntegerArray publishedTicks;
+
+    private int size;
+
+    private int consumptionRate;
+
+    private final IntArrayList free;
+
+    private final BitSet released;
+
+    private final IntArrayList undo;
+
+    public BurningStoragePool() {
+        this(16);
+    }
+
+    /**
+     * @param capacity the initial number of storages this pool has room for
+     */
+    public BurningStoragePool(int capacity) {
+        capacity = Math.max(1, capacity);
+        this.current = new int[capacity];
+        this.max = new int[capacity];
+        this.fuels = new int[capacity];
+        this.published = new AtomicReferenceArray<>(capacity);
+        this.publishedTicks = new AtomicIntegerArray(capacity);
+        this.size = 0;
+        this.consumptionRate = 1;
+        this.free = new IntArrayList();
+        this.released = new BitSet();
+        this.undo = new IntArrayList();
+    }
+
+    /**
+     * Returns the number of storage slots in use or freed, i.e. one more than the highest allocated index.
+     *
+     * @return a non-negative int
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Allocates an empty storage, reusing a freed one if any.
+     *
+     * @return the index of the storage
+     */
+    public int allocate() {
+        if (!this.free.isEmpty()) {
+            int index = this.free.popInt();
+            this.released.clear(index);
+            return index;
+        }
+        if (this.size == this.current.length) {
+            int capacity = this.current.length * 2;
+            this.current = Arrays.copyOf(this.current, capacity);
+            this.max = Arrays.copyOf(this.max, capacity);
+            this.fuels = Arrays.copyOf(this.fuels, capacity);
+            var published = new AtomicReferenceArray<BurningState>(capacity);
+            var publishedTicks = new AtomicIntegerArray(capacity);
+            for (int i = 0; i < this.size; i++) {
+                published.set(i, this.published.get(i));
+                publishedTicks.set(i, this.publishedTicks.get(i));
+            }
+            this.published = published;
+            this.publishedTicks = publishedTicks;
+        }
+        this.fuels[this.size] = EMPTY_FUEL_ID;
+        this.published.set(this.size, BurningState.EMPTY);
+        this.publishedTicks.set(this.size, 0);
+        return this.size++;
+    }
+
+    /**
+     * Empties the storage at the provided index, and makes it available to {@link #allocate()}.
+     * Handles to it must no longer be used.
+     *
+     * @param index an allocated index
+     * @throws IllegalStateException if a transaction is open, or the storage is already released
+     */
+    public void release(int index) {
+        Objects.checkIndex(index, this.size);
+        if (Transaction.isOpen()) {
+            throw new IllegalStateException("Cannot release a pooled storage while a transaction is open");
+        }
+        if (this.released.get(index)) {
+            throw new IllegalStateException("Pooled storage " + index + " is already released");
+        }
+        this.released.set(index);
+        this.current[index] = 0;
+        this.max[index] = 0;
+        this.fuels[index] = EMPTY_FUEL_ID;
+        this.published.set(index, BurningState.EMPTY);
+        this.publishedTicks.set(index, 0);
+        this.free.add(index);
+    }
+
+    /**
+     * Returns a handle to the storage at the provided index.
+     *
+     * @param index an allocated index
+     * @return a new handle
+     */
+    public Handle get(int index) {
+        return new Handle(Objects.checkIndex(index, this.size));
+    }
+
+    public int getCurrentBurning(int index) {
+        return this.current[Objects.checkIndex(index, this.size)];
+    }
+
+    public int getMaxBurning(int index) {
+        return this.max[Objects.checkIndex(index, this.size)];
+    }
+
+    /**
+     * Returns how many ticks of burning every storage of this pool consumes every {@link #tick()}.
+     *
+     * @return a non-negative int
+     */
+    public int getConsumptionRate() {
+        return this.consumptionRate;
+    }
+
+    /**
+     * Sets how many ticks of burning every storage of this pool consumes every {@link #tick()}.
+     * Defaults to one, like vanilla furnaces.
+     *
+     * @param value a non-negative int
+     */
+    public void setConsumptionRate(int value) {
+        this.consumptionRate = Math.max(0, value);
+    }
+
+    /**
+     * Burns every storage of this pool by its {@linkplain #getConsumptionRate() consumption rate}.
+     */
+    public void tick() {
+        this.consume(0, this.size, this.consumptionRate);
+    }
+
+    /**
+     * Burns the storages in the provided range of indexes by the provided ticks, in parallel if the range is large.
+     *
+     * @param from  the first index, inclusive
+     * @param to    the last index, exclusive
+     * @param ticks the ticks of burning every storage consumes
+     * @throws IllegalStateException if a transaction is open
+     */
+    public void consume(int from, int to, int ticks) {
+        Objects.checkFromToIndex(from, to, this.size);
+        if (Transaction.isOpen()) {
+            throw new IllegalStateException("Cannot consume pooled burning while a transaction is open");
+        }
+        if (ticks <= 0) {
+            return;
+        }
+        var range = IntStream.range(from, to);
+        if (to - from >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        var publishedTicks = this.publishedTicks;
+        range.forEach(i -> {
+            if (this.current[i] > 0) {
+                this.current[i] = Math.max(0, this.current[i] - ticks);
+                publishedTicks.set(i, this.current[i]);
+            }
+        });
+    }
+
+    /**
+     * Counts the burning storages in the provided range of indexes, in parallel if the range is large.
+     *
+     * @param from the first index, inclusive
+     * @param to   the last index, exclusive
+     * @return a non-negative int
+     */
+    public int countBurning(int from, int to) {
+        Objects.checkFromToIndex(from, to, this.size);
+        var range = IntStream.range(from, to);
+        if (to - from >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        return (int) range.filter(i -> this.current[i] > 0).count();
+    }
+
+    private void publish(int index) {
+        Item fuel = BuiltInRegistries.ITEM.byId(this.fuels[index]);
+        this.published.set(index, BurningState.of(this.published.get(index), fuel,
+                this.current[index], this.max[index], this.current[index] > 0));
+        this.publishedTicks.set(index, this.current[index]);
+    }
+
+    private int insertable(int index, long burning, int duration) {
+        return Math.max(0, Math.min(Math.max(this.max[index], duration) - this.current[index],
+                PackedBurning.getTicks(burning)));
+    }
+
+    private int extractable(int index, long burning) {
+        return Math.min(this.current[index], PackedBurning.getTicks(burning));
+    }
+
+    private void log(int index, TransactionContext transaction) {
+        updateSnapshots(transaction);
+        this.undo.add(index);
+        this.undo.add(this.current[index]);
+        this.undo.add(this.max[index]);
+        this.undo.add(this.fuels[index]);
+    }
+
+    // From {@link SnapshotParticipant}
+
+    @Override
+    protected Integer createSnapshot() {
+        return this.undo.size();
+    }
+
+    @Override
+    protected void readSnapshot(Integer snapshot) {
+        for (int i = this.undo.size() - 4; i >= snapshot; i -= 4) {
+            int index = this.undo.getInt(i);
+            this.current[index] = this.undo.getInt(i + 1);
+            this.max[index] = this.undo.getInt(i + 2);
+            this.fuels[index] = this.undo.getInt(i + 3);
+        }
+        this.undo.size(snapshot);
+    }
+
+    @Override
+    protected void onFinalCommit() {
+        for (int i = 0; i < this.undo.size(); i += 4) {
+            this.publish(this.undo.getInt(i));
+        }
+        this.undo.clear();
+    }
+
+    /**
+     * A {@link BurningStorage} view of a storage of the pool.
+     */
+    public final class Handle implements BurningStorage {
+
+        private final int index;
+
+        private Handle(int index) {
+            this.index = index;
+        }
+
+        public int getIndex() {
+            return this.index;
+        }
+
+        public BurningStoragePool getPool() {
+            return BurningStoragePool.this;
+        }
+
+        @Override
+        public Burning insert(Burning burning, BurningContext context, TransactionContext transaction) {
+            return PackedBurning.toBurning(this.insert(PackedBurning.of(burning, context), context, transaction),
+                    burning, context);
+        }
+
+        @Override
+        public long insert(long burning, BurningContext context, TransactionContext transaction) {
+            int i = this.index;
+            int duration = context.burnDuration(PackedBurning.getFuel(burning));
+            int value = insertable(i, burning, duration);
+            if (value <= 0) {
+                return PackedBurning.zero(burning);
+            }
+            log(i, transaction);
+            current[i] += value;
+            if ((max[i] > duration && current[i] <= duration) || current[i] > max[i]) {
+                max[i] = duration;
+                fuels[i] = PackedBurning.getFuelId(burning);
+            }
+            return PackedBurning.withTicks(burning, value);
+        }
+
+        @Override
+        public long simulateInsert(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+            int duration = context.burnDuration(PackedBurning.getFuel(burning));
+            return PackedBurning.withTicks(burning, insertable(this.index, burning, duration));
+        }
+
+        @Override
+        public Burning extract(Burning burning, BurningContext context, TransactionContext transaction) {
+            return PackedBurning.toBurning(this.extract(PackedBurning.of(burning, context), context, transaction),
+                    burning, context);
+        }
+
+        @Override
+        public long extract(long burning, BurningContext context, TransactionContext transaction) {
+            int i = this.index;
+            int duration = context.burnDuration(PackedBurning.getFuel(burning));
+            int value = extractable(i, burning);
+            if (value <= 0) {
+                return PackedBurning.zero(burning);
+            }
+            log(i, transaction);
+            current[i] -= value;
+            if (max[i] > duration && current[i] <= duration) {
+                max[i] = duration;
+                fuels[i] = PackedBurning.getFuelId(burning);
+            }
+            return PackedBurning.withTicks(burning, value);
+        }
+
+        @Override
+        public long simulateExtract(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+            return PackedBurning.withTicks(burning, extractable(this.index, burning));
+        }
+
+        @Override
+        public Burning getBurning(BurningContext context) {
+            return PackedBurning.toBurning(this.getPackedBurning(context), context);
+        }
+
+        @Override
+        public long getPackedBurning(BurningContext context) {
+            Item fuel = BuiltInRegistries.ITEM.byId(fuels[this.index]);
+            return PackedBurning.ofTicks(fuel, Math.min(current[this.index], context.burnDuration(fuel)));
+        }
+
+        @Override
+        public boolean isBurning() {
+            return current[this.index] > 0;
+        }
+
+        @Override
+        public int getConsumptionRate() {
+            return consumptionRate;
+        }
+
+        @Override
+        public int getTicksUntilEmpty() {
+            if (current[this.index] <= 0)
+                return 0;
+            else if (consumptionRate <= 0)
+                return -1;
+            else
+                return Math.ceilDiv(current[this.index], consumptionRate);
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p>
+         * The state is published on final commit, and its ticks whenever the pool consumes burning:
+         * consuming only stores them, and the state is rebuilt with them here, on read. A read racing
+         * a commit may thus pair the fuel and maximum of one publication with the ticks of the next.
+         * </p>
+         */
+        @Override
+        public BurningState getPublishedState() {
+            var state = published.get(this.index);
+            int ticks = publishedTicks.get(this.index);
+            return state.ticks() == ticks
+                    ? state
+                    : new BurningState(state.fuel(), ticks, state.maxTicks(), ticks > 0);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof Handle that && this.getPool() == that.getPool() && this.index == that.index;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(BurningStoragePool.this) + this.index;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package niv.burning.api.base;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+import niv.burning.api.BurningStorage;
+import niv.burning.api.BurningThreshold;
+import niv.burning.api.BurningThresholdListener;
+
+/**
+ * A helper for {@link BurningStorage} implementations to support
+ * {@link BurningStorage#subscribe(BurningThresholdListener)}.
+ *
+ * <p>
+ * Storages should call {@link #update()} whenever their content may have changed, e.g. on final
+ * commit: listeners are only notified of the thresholds actually crossed since the last call.
+ * While there are no listeners, {@link #update()} does nothing.
+ * </p>
+ */
+public final class BurningThresholdTracker {
+
+    private static final BurningThreshold[] THRESHOLDS = BurningThreshold.values();
+
+    private final BurningStorage storage;
+
+    private final Predicate<BurningThreshold> reached;
+
+    private final List<BurningThresholdListener> listeners;
+
+    private int state;
+
+    /**
+     * @param storage the storage to notify listeners about
+     * @param reached whether the storage currently is at the provided threshold
+     */
+    public BurningThresholdTracker(BurningStorage storage, Predicate<BurningThreshold> reached) {
+        this.storage = storage;
+        this.reached = reached;
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.state = 0;
+    }
+
+    /**
+     * @see BurningStorage#subscribe(BurningThresholdListener)
+     */
+    public boolean subscribe(BurningThresholdListener listener) {
+        if (this.listeners.isEmpty()) {
+            this.state = this.compute();
+        }
+        this.listeners.add(listener);
+        return true;
+    }
+
+    /**
+     * @see BurningStorage#unsubscribe(BurningThresholdListener)
+     */
+    public void unsubscribe(BurningThresholdListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Notifies the listeners of every threshold crossed since the last call.
+     */
+    public void update() {
+        if (this.listeners.isEmpty()) {
+            return;
+        }
+        int current = this.compute();
+        int changed = current ^ this.state;
+        if (changed == 0) {
+            return;
+        }
+        this.state = current;
+        for (var threshold : THRESHOLDS) {
+            if ((changed & threshold.mask()) != 0) {
+                boolean isReached = (current & threshold.mask()) != 0;
+                for (var listener : this.listeners) {
+                    listener.thresholdCrossed(this.storage, threshold, isReached);
+                }
+            }
+        }
+    }
+
+    private int compute() {
+        int result = 0;
+        for (var threshold : THRESHOLDS) {
+            if (this.reached.test(threshold)) {
+                result |= threshold.mask();
+            }
+        }
+        return result;
+    }
+}
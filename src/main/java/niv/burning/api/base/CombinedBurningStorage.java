@@ -0,0 +1,373 @@
+package niv.burning.api.base;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
+import net.minecraft.world.item.Item;
+import niv.burning.api.BoundBurning;
+import niv.burning.api.Burning;
+import niv.burning.api.BurningContext;
+import niv.burning.api.BurningState;
+import niv.burning.api.BurningStorage;
+import niv.burning.api.BurningThresholdListener;
+import niv.burning.api.PackedBurning;
+
+/**
+ * A {@link BurningStorage} combining many member storages, e.g. the fuel cells of a multiblock.
+ *
+ * <p>
+ * The amount of every member is cached, together with their running total and two indexes:
+ * the members which may have free space, and the members which have some burning available.
+ * Insertions and extractions only visit the members in the relevant index, in order, and
+ * {@link #getBurning(BurningContext)} costs the same no matter how many members there are.
+ * </p>
+ *
+ * <p>
+ * The cache is updated by this storage's own operations, which undo their changes to it when
+ * their transaction is aborted, and, once {@link #open()}, whenever a member supporting
+ * subscriptions crosses a {@link niv.burning.api.BurningThreshold}. Members changing in any other
+ * way, e.g. burning down, are not noticed: their owners should call {@link #invalidate(int)} or
+ * {@link #invalidate()}. The whole cache is also rebuilt when a different context is used.
+ * </p>
+ *
+ * <pre>
+ * CombinedBurningStorage storage = new CombinedBurningStorage(cells);
+ * storage.open();
+ * // ...
+ * storage.close();
+ * </pre>
+ */
+public class CombinedBurningStorage
+        extends SnapshotParticipant<CombinedBurningStorage.Snapshot>
+        implements BurningStorage {
+
+    public static record Snapshot(int undo, int generation, long total, Item fuel) {
+    }
+
+    private final BurningStorage[] members;
+
+    private final long[] amounts;
+
+    private final BitSet free;
+
+    private final BitSet available;
+
+    private final BitSet dirty;
+
+    private final LongArrayList undo;
+
+    private BurningThresholdListener @Nullable [] listeners;
+
+    private long total;
+
+    private Item fuel;
+
+    private int fullDuration;
+
+    private int generation;
+
+    private @Nullable BurningContext context;
+
+    private boolean stale;
+
+    private volatile BurningState published;
+
+    public CombinedBurningStorage(List<? extends BurningStorage> members) {
+        this.members = members.toArray(BurningStorage[]::new);
+        this.amounts = new long[this.members.length];
+        this.free = new BitSet(this.members.length);
+        this.available = new BitSet(this.members.length);
+        this.dirty = new BitSet(this.members.length);
+        this.undo = new LongArrayList();
+        this.total = 0L;
+        this.fuel = Burning.MIN_VALUE.getFuel();
+        this.fullDuration = Integer.MAX_VALUE;
+        this.generation = 0;
+        this.context = null;
+        this.stale = true;
+        this.published = BurningState.EMPTY;
+        this.listeners = null;
+    }
+
+    /**
+     * Subscribes to every member supporting subscriptions, so that this storage notices them crossing
+     * a {@link niv.burning.api.BurningThreshold} without being invalidated. Does nothing if already open.
+     * <p>
+     * Members keep a reference to this storage until it is {@linkplain #close() closed}.
+     * </p>
+     */
+    public void open() {
+        if (this.listeners == null) {
+            this.listeners = new BurningThresholdListener[this.members.length];
+            for (int i = 0; i < this.members.length; i++) {
+                int index = i;
+                this.listeners[i] = (storage, threshold, reached) -> this.dirty.set(index);
+                this.members[i].subscribe(this.listeners[i]);
+            }
+            this.stale = true;
+        }
+    }
+
+    /**
+     * Unsubscribes from every member, so that they no longer keep a reference to this storage.
+     * Owners should call it once this storage is discarded, e.g. when its multiblock is broken or unloaded.
+     * Does nothing if not open.
+     */
+    public void close() {
+        if (this.listeners != null) {
+            for (int i = 0; i < this.members.length; i++) {
+                this.members[i].unsubscribe(this.listeners[i]);
+            }
+            this.listeners = null;
+        }
+    }
+
+    /**
+     * Returns the members of this storage.
+     *
+     * @return an unmodifiable list
+     */
+    public List<BurningStorage> getMembers() {
+        return List.of(this.members);
+    }
+
+    /**
+     * Returns the number of members of this storage.
+     *
+     * @return a non-negative int
+     */
+    public int size() {
+        return this.members.length;
+    }
+
+    /**
+     * Marks the cached amount of the member at the provided index as outdated.
+     *
+     * @param index between zero, inclusive, and {@link #size()}, exclusive
+     */
+    public void invalidate(int index) {
+        this.dirty.set(index);
+    }
+
+    /**
+     * Marks the whole cache as outdated.
+     */
+    public void invalidate() {
+        this.stale = true;
+    }
+
+    private void sync(BurningContext context) {
+        var source = BoundBurning.unwrap(context);
+        if (this.stale || this.context != source) {
+            this.context = source;
+            this.stale = false;
+            this.dirty.clear();
+            this.total = 0L;
+            this.free.set(0, this.members.length);
+            this.fullDuration = Integer.MAX_VALUE;
+            for (int i = 0; i < this.members.length; i++) {
+                this.amounts[i] = PackedBurning.getFixedTicks(this.members[i].getPackedBurning(context));
+                this.available.set(i, this.amounts[i] > 0L);
+                this.total += this.amounts[i];
+            }
+            this.generation++;
+        } else if (!this.dirty.isEmpty()) {
+            for (int i = this.dirty.nextSetBit(0); i >= 0; i = this.dirty.nextSetBit(i + 1)) {
+                this.free.set(i);
+                this.refresh(i, context);
+            }
+            this.dirty.clear();
+            this.generation++;
+        } else {
+            return;
+        }
+        if (!Transaction.isOpen()) {
+            this.publish();
+        }
+    }
+
+    private void publish() {
+        this.published = BurningState.of(this.published, this.fuel,
+                (int) Math.min(Integer.MAX_VALUE, this.total >>> PackedBurning.FRACTION_BITS), 0, this.isBurning());
+    }
+
+    /**
+     * Makes every member a candidate for insertion again if the provided fuel burns longer than
+     * the one they were last found full with, as they may hold more of it.
+     */
+    private void reopen(long burning, BurningContext context) {
+        if (context.burnDuration(PackedBurning.getFuel(burning)) > this.fullDuration) {
+            this.free.set(0, this.members.length);
+            this.fullDuration = Integer.MAX_VALUE;
+        }
+    }
+
+    private void refresh(int index, BurningContext context) {
+        long amount = PackedBurning.getFixedTicks(this.members[index].getPackedBurning(context));
+        this.total += amount - this.amounts[index];
+        this.amounts[index] = amount;
+        this.available.set(index, amount > 0L);
+    }
+
+    private void refresh(int index, BurningContext context, TransactionContext transaction) {
+        updateSnapshots(transaction);
+        this.undo.add(index);
+        this.undo.add(this.amounts[index]);
+        this.refresh(index, context);
+    }
+
+    // From {@link SnapshotParticipant}
+
+    @Override
+    protected Snapshot createSnapshot() {
+        return new Snapshot(this.undo.size(), this.generation, this.total, this.fuel);
+    }
+
+    @Override
+    protected void readSnapshot(Snapshot snapshot) {
+        if (snapshot.generation() == this.generation) {
+            for (int i = this.undo.size() - 2; i >= snapshot.undo(); i -= 2) {
+                int index = (int) this.undo.getLong(i);
+                this.amounts[index] = this.undo.getLong(i + 1);
+                this.available.set(index, this.amounts[index] > 0L);
+                this.free.set(index);
+            }
+            this.total = snapshot.total();
+        } else {
+            this.stale = true;
+        }
+        this.undo.size(snapshot.undo());
+        this.fuel = snapshot.fuel();
+    }
+
+    @Override
+    protected void onFinalCommit() {
+        this.undo.clear();
+        this.publish();
+    }
+
+    // From {@link BurningStorage}
+
+    @Override
+    public Burning insert(Burning burning, BurningContext context, TransactionContext transaction) {
+        return PackedBurning.toBurning(this.insert(PackedBurning.of(burning, context), context, transaction), burning, context);
+    }
+
+    @Override
+    public long insert(long burning, BurningContext context, TransactionContext transaction) {
+        this.sync(context);
+        this.reopen(burning, context);
+        long remaining = PackedBurning.getFixedTicks(burning);
+        long inserted = 0L;
+        for (int i = this.free.nextSetBit(0); i >= 0 && remaining > 0L; i = this.free.nextSetBit(i + 1)) {
+            long value = PackedBurning.getFixedTicks(
+                    this.members[i].insert(PackedBurning.withFixedTicks(burning, remaining), context, transaction));
+            if (value < remaining) {
+                this.free.clear(i);
+                this.fullDuration = Math.min(this.fullDuration, context.burnDuration(PackedBurning.getFuel(burning)));
+            }
+            if (value > 0L) {
+                this.refresh(i, context, transaction);
+                this.fuel = PackedBurning.getFuel(burning);
+                remaining -= value;
+                inserted += value;
+            }
+        }
+        return PackedBurning.withFixedTicks(burning, inserted);
+    }
+
+    @Override
+    public long simulateInsert(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        this.sync(context);
+        this.reopen(burning, context);
+        long remaining = PackedBurning.getFixedTicks(burning);
+        long inserted = 0L;
+        for (int i = this.free.nextSetBit(0); i >= 0 && remaining > 0L; i = this.free.nextSetBit(i + 1)) {
+            long value = PackedBurning.getFixedTicks(this.members[i]
+                    .simulateInsert(PackedBurning.withFixedTicks(burning, remaining), context, transaction));
+            remaining -= value;
+            inserted += value;
+        }
+        return PackedBurning.withFixedTicks(burning, inserted);
+    }
+
+    @Override
+    public Burning extract(Burning burning, BurningContext context, TransactionContext transaction) {
+        return PackedBurning.toBurning(this.extract(PackedBurning.of(burning, context), context, transaction), burning, context);
+    }
+
+    @Override
+    public long extract(long burning, BurningContext context, TransactionContext transaction) {
+        this.sync(context);
+        long remaining = PackedBurning.getFixedTicks(burning);
+        long extracted = 0L;
+        for (int i = this.available.nextSetBit(0); i >= 0 && remaining > 0L; i = this.available.nextSetBit(i + 1)) {
+            long value = PackedBurning.getFixedTicks(
+                    this.members[i].extract(PackedBurning.withFixedTicks(burning, remaining), context, transaction));
+            if (value > 0L) {
+                this.free.set(i);
+                this.refresh(i, context, transaction);
+                remaining -= value;
+                extracted += value;
+            } else {
+                this.available.clear(i);
+            }
+        }
+        return PackedBurning.withFixedTicks(burning, extracted);
+    }
+
+    @Override
+    public long simulateExtract(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        this.sync(context);
+        long remaining = PackedBurning.getFixedTicks(burning);
+        long extracted = 0L;
+        for (int i = this.available.nextSetBit(0); i >= 0 && remaining > 0L; i = this.available.nextSetBit(i + 1)) {
+            long value = PackedBurning.getFixedTicks(this.members[i]
+                    .simulateExtract(PackedBurning.withFixedTicks(burning, remaining), context, transaction));
+            remaining -= value;
+            extracted += value;
+        }
+        return PackedBurning.withFixedTicks(burning, extracted);
+    }
+
+    @Override
+    public Burning getBurning(BurningContext context) {
+        return PackedBurning.toBurning(this.getPackedBurning(context), context);
+    }
+
+    @Override
+    public long getPackedBurning(BurningContext context) {
+        this.sync(context);
+        return PackedBurning.fit(this.fuel, this.total, context);
+    }
+
+    @Override
+    public boolean isBurning() {
+        for (int i = this.available.nextSetBit(0); i >= 0; i = this.available.nextSetBit(i + 1)) {
+            if (this.members[i].isBurning()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The state is published on final commit, and whenever the cache is updated outside of a
+     * transaction, with the total burning of the members and no maximum, i.e. zero: how much a
+     * member can hold depends on the fuel inserted into it, so the only exact sum of their maxima
+     * would ask every member on every publication.
+     * </p>
+     */
+    @Override
+    public BurningState getPublishedState() {
+        return this.published;
+    }
+}
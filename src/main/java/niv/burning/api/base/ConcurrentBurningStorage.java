@@ -0,0 +1,227 @@
+package niv.burning.api.base;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
+import niv.burning.api.BoundBurning;
+import niv.burning.api.Burning;
+import niv.burning.api.BurningContext;
+import niv.burning.api.BurningState;
+import niv.burning.api.BurningStorage;
+import niv.burning.api.PackedBurning;
+
+/**
+ * A {@link BurningStorage} whose whole state is a single {@link PackedBurning} word, updated
+ * atomically, so that other threads may {@link #deposit(long, BurningContext)} into it lock-free,
+ * without a transaction.
+ *
+ * <p>
+ * Like a {@link SimpleBurningStorage}, it holds up to the burn duration of its current fuel.
+ * On the server thread, it takes part in transactions as usual; but rather than restoring a
+ * previous state, aborted transactions undo the amount they moved, so that concurrent deposits
+ * are never lost. The fuel of this storage is not restored on abort.
+ * </p>
+ *
+ * <p>
+ * Undoing may not restore the exact amount when other threads changed this storage meanwhile:
+ * an aborted extraction gives back no more than fits in the burn duration of the current fuel,
+ * as per the last context used, so whatever was deposited meanwhile is kept and the rest of the
+ * extracted burning is lost; and an aborted insertion takes back no more than is left, so burning
+ * consumed meanwhile stays consumed.
+ * </p>
+ *
+ * <p>
+ * The last context used is kept, and read from any thread, so every context passed to this storage
+ * must be thread-safe, as the built-in cached contexts are. {@linkplain BoundBurning#memoize(BurningContext)
+ * Memoized} views, which are not, are unwrapped first, and their source kept instead.
+ * </p>
+ */
+public class ConcurrentBurningStorage
+        extends SnapshotParticipant<Long>
+        implements BurningStorage {
+
+    private final AtomicLong word;
+
+    private long delta;
+
+    private volatile @Nullable BurningContext context;
+
+    public ConcurrentBurningStorage() {
+        this.word = new AtomicLong(PackedBurning.zero(Burning.MIN_VALUE.getFuel()));
+        this.delta = 0L;
+        this.context = null;
+    }
+
+    /**
+     * Inserts up to the provided packed burning, from any thread, outside of any transaction.
+     *
+     * @param burning the maximum packed burning to insert
+     * @param context the {@link BurningContext} to use, which must be thread-safe
+     * @return the packed burning inserted
+     */
+    public long deposit(long burning, BurningContext context) {
+        this.context = BoundBurning.unwrap(context);
+        long value = PackedBurning.getFixedTicks(burning);
+        if (value <= 0L) {
+            return PackedBurning.zero(burning);
+        }
+        long limit = (long) context.burnDuration(PackedBurning.getFuel(burning)) << PackedBurning.FRACTION_BITS;
+        while (true) {
+            long previous = this.word.get();
+            long current = PackedBurning.getFixedTicks(previous);
+            long capacity = (long) context.burnDuration(PackedBurning.getFuel(previous)) << PackedBurning.FRACTION_BITS;
+            long inserted = Math.min(Math.max(capacity, limit) - current, value);
+            if (inserted <= 0L) {
+                return PackedBurning.zero(burning);
+            }
+            long next = current + inserted > capacity
+                    ? PackedBurning.withFixedTicks(burning, current + inserted)
+                    : PackedBurning.withFixedTicks(previous, current + inserted);
+            if (this.word.compareAndSet(previous, next)) {
+                return PackedBurning.withFixedTicks(burning, inserted);
+            }
+        }
+    }
+
+    /**
+     * Removes up to the provided ticks of burning, from any thread, outside of any transaction,
+     * e.g. as burnt by the owner of this storage.
+     *
+     * @param ticks the ticks of burning to remove
+     * @return the ticks of burning removed
+     */
+    public int consume(int ticks) {
+        long value = (long) Math.max(0, ticks) << PackedBurning.FRACTION_BITS;
+        return (int) (this.take(value) >>> PackedBurning.FRACTION_BITS);
+    }
+
+    private long take(long value) {
+        while (true) {
+            long previous = this.word.get();
+            long taken = Math.min(PackedBurning.getFixedTicks(previous), value);
+            if (taken <= 0L || this.word.compareAndSet(previous,
+                    PackedBurning.withFixedTicks(previous, PackedBurning.getFixedTicks(previous) - taken))) {
+                return Math.max(0L, taken);
+            }
+        }
+    }
+
+    private void give(long value) {
+        var context = this.context;
+        while (true) {
+            long previous = this.word.get();
+            long current = PackedBurning.getFixedTicks(previous);
+            long next = Math.min(PackedBurning.MAX_FIXED_TICKS, current + value);
+            if (context != null) {
+                long capacity = (long) context.burnDuration(PackedBurning.getFuel(previous))
+                        << PackedBurning.FRACTION_BITS;
+                next = Math.min(next, Math.max(current, capacity));
+            }
+            if (next <= current || this.word.compareAndSet(previous, PackedBurning.withFixedTicks(previous, next))) {
+                return;
+            }
+        }
+    }
+
+    // From {@link SnapshotParticipant}
+
+    @Override
+    protected Long createSnapshot() {
+        return this.delta;
+    }
+
+    @Override
+    protected void readSnapshot(Long snapshot) {
+        long undo = this.delta - snapshot;
+        if (undo > 0L) {
+            this.take(undo);
+        } else if (undo < 0L) {
+            this.give(-undo);
+        }
+        this.delta = snapshot;
+    }
+
+    @Override
+    protected void onFinalCommit() {
+        this.delta = 0L;
+    }
+
+    // From {@link BurningStorage}
+
+    @Override
+    public Burning insert(Burning burning, BurningContext context, TransactionContext transaction) {
+        return PackedBurning.toBurning(this.insert(PackedBurning.of(burning, context), context, transaction), burning, context);
+    }
+
+    @Override
+    public long insert(long burning, BurningContext context, TransactionContext transaction) {
+        updateSnapshots(transaction);
+        long result = this.deposit(burning, context);
+        this.delta += PackedBurning.getFixedTicks(result);
+        return result;
+    }
+
+    @Override
+    public long simulateInsert(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        long previous = this.word.get();
+        long capacity = Math.max(context.burnDuration(PackedBurning.getFuel(previous)),
+                context.burnDuration(PackedBurning.getFuel(burning)));
+        return PackedBurning.withFixedTicks(burning, Math.max(0L, Math.min(PackedBurning.getFixedTicks(burning),
+                (capacity << PackedBurning.FRACTION_BITS) - PackedBurning.getFixedTicks(previous))));
+    }
+
+    @Override
+    public Burning extract(Burning burning, BurningContext context, TransactionContext transaction) {
+        return PackedBurning.toBurning(this.extract(PackedBurning.of(burning, context), context, transaction), burning, context);
+    }
+
+    @Override
+    public long extract(long burning, BurningContext context, TransactionContext transaction) {
+        this.context = BoundBurning.unwrap(context);
+        updateSnapshots(transaction);
+        long taken = this.take(PackedBurning.getFixedTicks(burning));
+        this.delta -= taken;
+        return PackedBurning.withFixedTicks(burning, taken);
+    }
+
+    @Override
+    public long simulateExtract(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        return PackedBurning.withFixedTicks(burning,
+                Math.min(PackedBurning.getFixedTicks(burning), PackedBurning.getFixedTicks(this.word.get())));
+    }
+
+    @Override
+    public Burning getBurning(BurningContext context) {
+        return PackedBurning.toBurning(this.getPackedBurning(context), context);
+    }
+
+    @Override
+    public long getPackedBurning(BurningContext context) {
+        long current = this.word.get();
+        return PackedBurning.fit(PackedBurning.getFuel(current), PackedBurning.getFixedTicks(current), context);
+    }
+
+    @Override
+    public boolean isBurning() {
+        return PackedBurning.getFixedTicks(this.word.get()) > 0L;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The state is read from the current word, with its maximum as per the last context used,
+     * or zero if none was used yet.
+     * </p>
+     */
+    @Override
+    public BurningState getPublishedState() {
+        long current = this.word.get();
+        var fuel = PackedBurning.getFuel(current);
+        var context = this.context;
+        int ticks = PackedBurning.getTicks(current);
+        return new BurningState(fuel, ticks, context == null ? 0 : context.burnDuration(fuel), ticks > 0);
+    }
+}
@@ -1,9 +1,13 @@
 package niv.burning.api.base;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
 import niv.burning.api.Burning;
 import niv.burning.api.BurningContext;
+import niv.burning.api.BurningState;
 import niv.burning.api.BurningStorage;
+import niv.burning.api.PackedBurning;
 
 /**
  * A singleton {@link BurningStorage} that is always empty and does not support insertion or extraction.
@@ -25,6 +29,16 @@ public final class EmptyBurningStorage implements BurningStorage {
         return burning.zero();
     }
 
+    @Override
+    public long insert(long burning, BurningContext context, TransactionContext transaction) {
+        return PackedBurning.zero(burning);
+    }
+
+    @Override
+    public long simulateInsert(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        return PackedBurning.zero(burning);
+    }
+
     @Override
     public boolean supportsExtraction() {
         return false;
@@ -35,13 +49,43 @@ public final class EmptyBurningStorage implements BurningStorage {
         return burning.zero();
     }
 
+    @Override
+    public long extract(long burning, BurningContext context, TransactionContext transaction) {
+        return PackedBurning.zero(burning);
+    }
+
+    @Override
+    public long simulateExtract(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        return PackedBurning.zero(burning);
+    }
+
     @Override
     public Burning getBurning(BurningContext context) {
         return Burning.MIN_VALUE;
     }
 
+    @Override
+    public long getPackedBurning(BurningContext context) {
+        return PackedBurning.MIN_VALUE;
+    }
+
     @Override
     public boolean isBurning() {
         return false;
     }
+
+    @Override
+    public BurningState getPublishedState() {
+        return BurningState.EMPTY;
+    }
+
+    @Override
+    public int getConsumptionRate() {
+        return 0;
+    }
+
+    @Override
+    public int getTicksUntilEmpty() {
+        return 0;
+    }
 }
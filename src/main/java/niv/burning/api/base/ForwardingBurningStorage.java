@@ -3,55 +3,142 @@ package niv.burning.api.base;
 import java.util.Objects;
 import java.util.function.Supplier;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
 import niv.burning.api.Burning;
 import niv.burning.api.BurningContext;
+import niv.burning.api.BurningState;
 import niv.burning.api.BurningStorage;
+import niv.burning.api.BurningThresholdListener;
 
 /**
  * A {@link BurningStorage} implementation that delegates all operations to another storage instance.
  * Useful for wrapping or dynamically forwarding to a target storage.
+ *
+ * <p>
+ * The target is only ever resolved on the thread using this storage: {@link #getPublishedState()}
+ * forwards to the target resolved last, so that monitoring threads never call the supplier.
+ * </p>
  */
 public class ForwardingBurningStorage implements BurningStorage {
 
     protected final Supplier<? extends BurningStorage> target;
 
+    private volatile @Nullable BurningStorage resolved;
+
     public ForwardingBurningStorage(BurningStorage target) {
         this(() -> target);
-        Objects.requireNonNull(target);
+        this.resolved = Objects.requireNonNull(target);
     }
 
     public ForwardingBurningStorage(Supplier<? extends BurningStorage> target) {
         this.target = Objects.requireNonNull(target);
+        this.resolved = null;
+    }
+
+    /**
+     * Resolves the target through the supplier, and remembers it for {@link #getPublishedState()}.
+     *
+     * @return the current target
+     */
+    protected BurningStorage resolve() {
+        var result = this.target.get();
+        if (result != this.resolved) {
+            this.resolved = result;
+        }
+        return result;
     }
 
     @Override
     public boolean supportsInsertion() {
-        return this.target.get().supportsInsertion();
+        return this.resolve().supportsInsertion();
     }
 
     @Override
     public Burning insert(Burning burning, BurningContext context, TransactionContext transaction) {
-        return this.target.get().insert(burning, context, transaction);
+        return this.resolve().insert(burning, context, transaction);
+    }
+
+    @Override
+    public long insert(long burning, BurningContext context, TransactionContext transaction) {
+        return this.resolve().insert(burning, context, transaction);
+    }
+
+    @Override
+    public long simulateInsert(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        return this.resolve().simulateInsert(burning, context, transaction);
     }
 
     @Override
     public boolean supportsExtraction() {
-        return this.target.get().supportsExtraction();
+        return this.resolve().supportsExtraction();
     }
 
     @Override
     public Burning extract(Burning burning, BurningContext context, TransactionContext transaction) {
-        return this.target.get().extract(burning, context, transaction);
+        return this.resolve().extract(burning, context, transaction);
+    }
+
+    @Override
+    public long extract(long burning, BurningContext context, TransactionContext transaction) {
+        return this.resolve().extract(burning, context, transaction);
+    }
+
+    @Override
+    public long simulateExtract(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        return this.resolve().simulateExtract(burning, context, transaction);
     }
 
     @Override
     public Burning getBurning(BurningContext context) {
-        return this.target.get().getBurning(context);
+        return this.resolve().getBurning(context);
+    }
+
+    @Override
+    public long getPackedBurning(BurningContext context) {
+        return this.resolve().getPackedBurning(context);
     }
 
     @Override
     public boolean isBurning() {
-        return this.target.get().isBurning();
+        return this.resolve().isBurning();
+    }
+
+    @Override
+    public int getConsumptionRate() {
+        return this.resolve().getConsumptionRate();
+    }
+
+    @Override
+    public int getTicksUntilEmpty() {
+        return this.resolve().getTicksUntilEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Forwards to the target resolved last by any other method, without calling the supplier.
+     * </p>
+     */
+    @Override
+    public @Nullable BurningState getPublishedState() {
+        var result = this.resolved;
+        return result == null ? null : result.getPublishedState();
+    }
+
+    @Override
+    public int getPriority() {
+        return this.resolve().getPriority();
+    }
+
+    @Override
+    public boolean subscribe(BurningThresholdListener listener) {
+        return this.resolve().subscribe(listener);
+    }
+
+    @Override
+    public void unsubscribe(BurningThresholdListener listener) {
+        this.resolve().unsubscribe(listener);
     }
 }
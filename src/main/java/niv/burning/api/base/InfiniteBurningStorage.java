@@ -1,9 +1,12 @@
 package niv.burning.api.base;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
 import niv.burning.api.Burning;
 import niv.burning.api.BurningContext;
 import niv.burning.api.BurningStorage;
+import niv.burning.api.PackedBurning;
 
 /**
  * A singleton {@link BurningStorage} that always allows extraction of the maximum burning value,
@@ -26,18 +29,53 @@ public final class InfiniteBurningStorage implements BurningStorage {
         return burning.zero();
     }
 
+    @Override
+    public long insert(long burning, BurningContext context, TransactionContext transaction) {
+        return PackedBurning.zero(burning);
+    }
+
+    @Override
+    public long simulateInsert(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        return PackedBurning.zero(burning);
+    }
+
     @Override
     public Burning extract(Burning burning, BurningContext context, TransactionContext transaction) {
         return burning;
     }
 
+    @Override
+    public long extract(long burning, BurningContext context, TransactionContext transaction) {
+        return burning;
+    }
+
+    @Override
+    public long simulateExtract(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        return burning;
+    }
+
     @Override
     public Burning getBurning(BurningContext context) {
         return Burning.MAX_VALUE;
     }
 
+    @Override
+    public long getPackedBurning(BurningContext context) {
+        return PackedBurning.one(PackedBurning.MIN_VALUE, context);
+    }
+
     @Override
     public boolean isBurning() {
         return true;
     }
+
+    @Override
+    public int getConsumptionRate() {
+        return 0;
+    }
+
+    @Override
+    public int getTicksUntilEmpty() {
+        return -1;
+    }
 }
@@ -0,0 +1,168 @@
+package niv.burning.api.base;
+
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongSupplier;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import niv.burning.api.Burning;
+import niv.burning.api.BurningContext;
+
+/**
+ * A {@link SimpleBurningStorage} which burns on its own, at its {@linkplain #getConsumptionRate()
+ * consumption rate}, as the game time goes by.
+ *
+ * <p>
+ * Rather than being decremented every tick, the current burning is recorded together with the
+ * game time it was recorded at, and the burning left is derived from the elapsed time whenever
+ * this storage is read or written. A steadily burning or idle owner needs no writes per tick;
+ * setting the consumption rate to zero pauses the burning.
+ * </p>
+ *
+ * <p>
+ * Since nothing happens while nobody looks, the {@linkplain #getPublishedState() published state}
+ * and threshold listeners are only updated with the burning left the next time this storage is
+ * read or written outside of a transaction, rather than on the tick it runs out; owners needing
+ * the exact tick should rely on {@link #getTicksUntilEmpty()}, e.g. through
+ * {@link niv.burning.api.level.RefuelScheduler}. Time elapsed while the owner is unloaded does
+ * not count, as the recorded game time is reset by {@link #readSnapshot(SimpleBurningStorage.Snapshot)}.
+ * </p>
+ */
+public class LazyBurningStorage extends SimpleBurningStorage {
+
+    private static final long UNSET = Long.MIN_VALUE;
+
+    protected final LongSupplier clock;
+
+    protected long since;
+
+    private boolean unpublished;
+
+    /**
+     * @param clock the current game time, e.g. {@code () -> level == null ? 0L : level.getGameTime()}
+     */
+    public LazyBurningStorage(LongSupplier clock) {
+        this(clock, null);
+    }
+
+    /**
+     * @param clock    the current game time, e.g. {@code () -> level == null ? 0L : level.getGameTime()}
+     * @param operator the operator applied to burn durations, as per {@link SimpleBurningStorage}
+     */
+    public LazyBurningStorage(LongSupplier clock, IntUnaryOperator operator) {
+        super(operator);
+        this.clock = clock;
+        this.since = UNSET;
+        this.unpublished = false;
+    }
+
+    /**
+     * Brings the current burning up to the current game time, then, outside of a transaction,
+     * publishes it and notifies threshold listeners if it changed.
+     */
+    protected void settle() {
+        long now = this.clock.getAsLong();
+        if (now != this.since) {
+            if (this.since != UNSET && now > this.since && this.currentBurning > 0 && this.consumptionRate > 0) {
+                this.currentBurning = (int) Math.max(0L, this.currentBurning - (now - this.since) * this.consumptionRate);
+                this.unpublished = true;
+            }
+            this.since = now;
+        }
+        if (this.unpublished && !Transaction.isOpen()) {
+            this.unpublished = false;
+            this.publish();
+            this.updateThresholds();
+        }
+    }
+
+    @Override
+    public int getCurrentBurning() {
+        this.settle();
+        return super.getCurrentBurning();
+    }
+
+    @Override
+    public void setCurrentBurning(int value) {
+        this.settle();
+        super.setCurrentBurning(value);
+    }
+
+    @Override
+    public void setMaxBurning(int value) {
+        this.settle();
+        super.setMaxBurning(value);
+    }
+
+    @Override
+    public void setConsumptionRate(int value) {
+        this.settle();
+        super.setConsumptionRate(value);
+    }
+
+    // From {@link SnapshotParticipant}
+
+    @Override
+    public Snapshot createSnapshot() {
+        this.settle();
+        return super.createSnapshot();
+    }
+
+    @Override
+    public void readSnapshot(Snapshot snapshot) {
+        super.readSnapshot(snapshot);
+        this.since = this.clock.getAsLong();
+    }
+
+    // From {@link BurningStorage}
+
+    @Override
+    public long insert(long burning, BurningContext context, TransactionContext transaction) {
+        this.settle();
+        return super.insert(burning, context, transaction);
+    }
+
+    @Override
+    public long simulateInsert(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        this.settle();
+        return super.simulateInsert(burning, context, transaction);
+    }
+
+    @Override
+    public long extract(long burning, BurningContext context, TransactionContext transaction) {
+        this.settle();
+        return super.extract(burning, context, transaction);
+    }
+
+    @Override
+    public long simulateExtract(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        this.settle();
+        return super.simulateExtract(burning, context, transaction);
+    }
+
+    @Override
+    public Burning getBurning(BurningContext context) {
+        this.settle();
+        return super.getBurning(context);
+    }
+
+    @Override
+    public long getPackedBurning(BurningContext context) {
+        this.settle();
+        return super.getPackedBurning(context);
+    }
+
+    @Override
+    public boolean isBurning() {
+        this.settle();
+        return super.isBurning();
+    }
+
+    @Override
+    public int getTicksUntilEmpty() {
+        this.settle();
+        return super.getTicksUntilEmpty();
+    }
+}
@@ -0,0 +1,221 @@
+package niv.burning.api.base;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
+import net.minecraft.core.Direction;
+import niv.burning.api.Burning;
+import niv.burning.api.BurningContext;
+import niv.burning.api.BurningStorage;
+import niv.burning.api.PackedBurning;
+
+/**
+ * A view of another {@link BurningStorage} which moves at most a given amount of burning in and
+ * out of it every game tick, and carries its own {@linkplain #getPriority() priority}.
+ *
+ * <p>
+ * Once the cap of the current tick is reached, the view reports it no longer
+ * {@linkplain #supportsInsertion() supports insertion}, or {@linkplain #supportsExtraction() extraction},
+ * until the next tick, so that callers such as {@link BurningStorage#transfer} skip it without
+ * opening a transaction. Amounts moved in transactions which are then aborted do not count.
+ * </p>
+ *
+ * <p>
+ * Providers of {@link BurningStorage#SIDED} may return a different view for every side:
+ *
+ * <pre>
+ * this.sides = RateLimitedBurningStorage.perSide(storage, level::getGameTime, 20, 20);
+ * ...
+ * return side == null ? storage : this.sides.get(side);
+ * </pre>
+ * </p>
+ */
+public class RateLimitedBurningStorage extends ForwardingBurningStorage {
+
+    private final LongSupplier clock;
+
+    private final long maxInsertion;
+
+    private final long maxExtraction;
+
+    private final int priority;
+
+    private final Counters counters;
+
+    /**
+     * @param target        the storage to forward to
+     * @param clock         the current game time, e.g. {@code level::getGameTime}
+     * @param maxInsertion  the ticks of burning that may be inserted every game tick
+     * @param maxExtraction the ticks of burning that may be extracted every game tick
+     * @param priority      the priority of this view
+     */
+    public RateLimitedBurningStorage(BurningStorage target, LongSupplier clock,
+            int maxInsertion, int maxExtraction, int priority) {
+        super(target);
+        this.clock = clock;
+        this.maxInsertion = Math.max(0, maxInsertion) * PackedBurning.ONE_TICK;
+        this.maxExtraction = Math.max(0, maxExtraction) * PackedBurning.ONE_TICK;
+        this.priority = priority;
+        this.counters = new Counters();
+    }
+
+    /**
+     * Creates an independent view of the provided storage for every side, with the same caps and
+     * the default priority.
+     *
+     * @param target        the storage to forward to
+     * @param clock         the current game time, e.g. {@code level::getGameTime}
+     * @param maxInsertion  the ticks of burning that may be inserted from every side every game tick
+     * @param maxExtraction the ticks of burning that may be extracted from every side every game tick
+     * @return a new map with a view for every direction
+     */
+    public static Map<Direction, RateLimitedBurningStorage> perSide(BurningStorage target, LongSupplier clock,
+            int maxInsertion, int maxExtraction) {
+        var result = new EnumMap<Direction, RateLimitedBurningStorage>(Direction.class);
+        for (var side : Direction.values()) {
+            result.put(side, new RateLimitedBurningStorage(target, clock, maxInsertion, maxExtraction, 0));
+        }
+        return result;
+    }
+
+    /**
+     * Returns how much burning may still be inserted during the current game tick.
+     *
+     * @return a non-negative long, in fixed-point ticks as per {@link PackedBurning#getFixedTicks(long)}
+     */
+    public long getRemainingInsertion() {
+        return this.maxInsertion - this.counters.getInserted();
+    }
+
+    /**
+     * Returns how much burning may still be extracted during the current game tick.
+     *
+     * @return a non-negative long, in fixed-point ticks as per {@link PackedBurning#getFixedTicks(long)}
+     */
+    public long getRemainingExtraction() {
+        return this.maxExtraction - this.counters.getExtracted();
+    }
+
+    @Override
+    public boolean supportsInsertion() {
+        return this.getRemainingInsertion() > 0L && super.supportsInsertion();
+    }
+
+    @Override
+    public Burning insert(Burning burning, BurningContext context, TransactionContext transaction) {
+        return PackedBurning.toBurning(this.insert(PackedBurning.of(burning, context), context, transaction), burning, context);
+    }
+
+    @Override
+    public long insert(long burning, BurningContext context, TransactionContext transaction) {
+        long allowed = Math.min(PackedBurning.getFixedTicks(burning), this.getRemainingInsertion());
+        if (allowed <= 0L) {
+            return PackedBurning.zero(burning);
+        }
+        long result = super.insert(PackedBurning.withFixedTicks(burning, allowed), context, transaction);
+        long value = PackedBurning.getFixedTicks(result);
+        if (value > 0L) {
+            this.counters.add(value, 0L, transaction);
+        }
+        return result;
+    }
+
+    @Override
+    public long simulateInsert(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        long allowed = Math.min(PackedBurning.getFixedTicks(burning), this.getRemainingInsertion());
+        return allowed <= 0L
+                ? PackedBurning.zero(burning)
+                : super.simulateInsert(PackedBurning.withFixedTicks(burning, allowed), context, transaction);
+    }
+
+    @Override
+    public boolean supportsExtraction() {
+        return this.getRemainingExtraction() > 0L && super.supportsExtraction();
+    }
+
+    @Override
+    public Burning extract(Burning burning, BurningContext context, TransactionContext transaction) {
+        return PackedBurning.toBurning(this.extract(PackedBurning.of(burning, context), context, transaction), burning, context);
+    }
+
+    @Override
+    public long extract(long burning, BurningContext context, TransactionContext transaction) {
+        long allowed = Math.min(PackedBurning.getFixedTicks(burning), this.getRemainingExtraction());
+        if (allowed <= 0L) {
+            return PackedBurning.zero(burning);
+        }
+        long result = super.extract(PackedBurning.withFixedTicks(burning, allowed), context, transaction);
+        long value = PackedBurning.getFixedTicks(result);
+        if (value > 0L) {
+            this.counters.add(0L, value, transaction);
+        }
+        return result;
+    }
+
+    @Override
+    public long simulateExtract(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        long allowed = Math.min(PackedBurning.getFixedTicks(burning), this.getRemainingExtraction());
+        return allowed <= 0L
+                ? PackedBurning.zero(burning)
+                : super.simulateExtract(PackedBurning.withFixedTicks(burning, allowed), context, transaction);
+    }
+
+    @Override
+    public int getPriority() {
+        return this.priority;
+    }
+
+    private static record Snapshot(long tick, long inserted, long extracted) {
+    }
+
+    /**
+     * The amounts moved during the game tick they were last changed in. They are only ever reset
+     * while changing them, after their snapshot is taken, and read as zero during any later tick,
+     * so that restoring a snapshot of an older tick never counts against the current one.
+     */
+    private final class Counters extends SnapshotParticipant<Snapshot> {
+
+        private long tick = Long.MIN_VALUE;
+
+        private long inserted = 0L;
+
+        private long extracted = 0L;
+
+        private long getInserted() {
+            return this.tick == RateLimitedBurningStorage.this.clock.getAsLong() ? this.inserted : 0L;
+        }
+
+        private long getExtracted() {
+            return this.tick == RateLimitedBurningStorage.this.clock.getAsLong() ? this.extracted : 0L;
+        }
+
+        private void add(long inserted, long extracted, TransactionContext transaction) {
+            updateSnapshots(transaction);
+            long now = RateLimitedBurningStorage.this.clock.getAsLong();
+            if (now != this.tick) {
+                this.tick = now;
+                this.inserted = 0L;
+                this.extracted = 0L;
+            }
+            this.inserted += inserted;
+            this.extracted += extracted;
+        }
+
+        @Override
+        protected Snapshot createSnapshot() {
+            return new Snapshot(this.tick, this.inserted, this.extracted);
+        }
+
+        @Override
+        protected void readSnapshot(Snapshot snapshot) {
+            this.tick = snapshot.tick();
+            this.inserted = snapshot.inserted();
+            this.extracted = snapshot.extracted();
+        }
+    }
+}
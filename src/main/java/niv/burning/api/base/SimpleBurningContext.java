@@ -7,6 +7,7 @@ import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import niv.burning.api.BurningContext;
+import niv.burning.api.FuelLadder;
 
 /**
  * Simple immutable {@link BurningContext} backed by an {@link Object2IntMap} between items and burn times (ticks).
@@ -16,6 +17,8 @@ public class SimpleBurningContext implements BurningContext {
 
     private final Object2IntMap<Item> values;
 
+    private FuelLadder ladder;
+
     /**
      * Creates an empty context (no items are fuel).
      */
@@ -52,4 +55,17 @@ public class SimpleBurningContext implements BurningContext {
     public int burnDuration(ItemStack stack) {
         return this.values.getInt(stack.getItem());
     }
+
+    @Override
+    public boolean isCheap() {
+        return true;
+    }
+
+    @Override
+    public FuelLadder getFuelLadder() {
+        if (this.ladder == null) {
+            this.ladder = FuelLadder.of(this.values.keySet(), this);
+        }
+        return this.ladder;
+    }
 }
@@ -4,6 +4,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.function.IntUnaryOperator;
 
+import org.jetbrains.annotations.Nullable;
+
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 
@@ -13,8 +15,12 @@ import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import niv.burning.api.Burning;
 import niv.burning.api.BurningContext;
+import niv.burning.api.BurningState;
 import niv.burning.api.BurningStorage;
 import niv.burning.api.BurningStorageListener;
+import niv.burning.api.BurningThreshold;
+import niv.burning.api.BurningThresholdListener;
+import niv.burning.api.PackedBurning;
 
 /**
  * A basic {@link BurningStorage} implementation that tracks burning state and
@@ -44,8 +50,14 @@ public class SimpleBurningStorage
 
     protected Burning zero;
 
+    protected int consumptionRate;
+
     private Collection<BurningStorageListener> listeners;
 
+    private BurningThresholdTracker thresholds;
+
+    private volatile BurningState published;
+
     public SimpleBurningStorage() {
         this(null);
     }
@@ -55,6 +67,8 @@ public class SimpleBurningStorage
         this.currentBurning = 0;
         this.maxBurning = 0;
         this.zero = Burning.MIN_VALUE;
+        this.consumptionRate = 1;
+        this.published = BurningState.EMPTY;
     }
 
     public int getCurrentBurning() {
@@ -63,6 +77,8 @@ public class SimpleBurningStorage
 
     public void setCurrentBurning(int value) {
         this.currentBurning = Math.clamp(value, 0, this.maxBurning);
+        this.publish();
+        this.updateThresholds();
     }
 
     public int getMaxBurning() {
@@ -74,6 +90,18 @@ public class SimpleBurningStorage
         if (this.currentBurning > this.maxBurning) {
             this.currentBurning = this.maxBurning;
         }
+        this.publish();
+        this.updateThresholds();
+    }
+
+    /**
+     * Sets how many ticks of burning the owner of this storage consumes every game tick while burning,
+     * as reported by {@link #getConsumptionRate()}. Defaults to one, like vanilla furnaces.
+     *
+     * @param value a non-negative int
+     */
+    public void setConsumptionRate(int value) {
+        this.consumptionRate = Math.max(0, value);
     }
 
     public void addListener(BurningStorageListener burningStorageListener) {
@@ -105,43 +133,101 @@ public class SimpleBurningStorage
         this.currentBurning = snapshot.currentBurning;
         this.maxBurning = snapshot.maxBurning;
         this.zero = snapshot.zero;
+        this.publish();
     }
 
     @Override
     protected void onFinalCommit() {
+        this.publish();
         this.setChanged();
+        this.updateThresholds();
+    }
+
+    /**
+     * Publishes the current state of this storage, as returned by {@link #getPublishedState()}.
+     */
+    protected void publish() {
+        this.published = BurningState.of(this.published,
+                this.zero.getFuel(), this.currentBurning, this.maxBurning, this.currentBurning > 0);
+    }
+
+    protected void updateThresholds() {
+        if (this.thresholds != null)
+            this.thresholds.update();
+    }
+
+    private boolean isReached(BurningThreshold threshold) {
+        return switch (threshold) {
+            case EMPTY -> this.currentBurning <= 0;
+            case FULL -> this.maxBurning > 0 && this.currentBurning >= this.maxBurning;
+            case LIT -> this.isBurning();
+        };
     }
 
     // From {@link BurningStorage}
 
     @Override
     public Burning insert(Burning burning, BurningContext context, TransactionContext transaction) {
-        context = new Context(context, this.operator);
-        int fuelTime = burning.getBurnDuration(context);
-        int value = Math.min(
-                Math.max(this.maxBurning, fuelTime) - this.currentBurning,
-                burning.getValue(context).intValue());
+        return PackedBurning.toBurning(this.insert(PackedBurning.of(burning, context), context, transaction), burning, context);
+    }
+
+    @Override
+    public long insert(long burning, BurningContext context, TransactionContext transaction) {
+        var fuel = PackedBurning.getFuel(burning);
+        int duration = context.burnDuration(fuel);
+        int fuelTime = this.operator.applyAsInt(duration);
+        int value = this.insertable(burning, duration, fuelTime);
         updateSnapshots(transaction);
         this.currentBurning += value;
         if ((this.maxBurning > fuelTime && this.currentBurning <= fuelTime) || this.currentBurning > this.maxBurning) {
             this.maxBurning = fuelTime;
-            this.zero = burning.zero();
+            this.zero = Burning.ofZero(fuel);
         }
-        return burning.withValue(value, context);
+        return PackedBurning.withTicks(burning, value, fuelTime, duration);
+    }
+
+    @Override
+    public long simulateInsert(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        int duration = context.burnDuration(PackedBurning.getFuel(burning));
+        int fuelTime = this.operator.applyAsInt(duration);
+        return PackedBurning.withTicks(burning, this.insertable(burning, duration, fuelTime), fuelTime, duration);
+    }
+
+    private int insertable(long burning, int duration, int fuelTime) {
+        return Math.min(
+                Math.max(this.maxBurning, fuelTime) - this.currentBurning,
+                PackedBurning.getTicks(burning, duration, fuelTime));
     }
 
     @Override
     public Burning extract(Burning burning, BurningContext context, TransactionContext transaction) {
-        context = new Context(context, this.operator);
-        int fuelTime = burning.getBurnDuration(context);
-        int value = Math.min(this.currentBurning, burning.getValue(context).intValue());
+        return PackedBurning.toBurning(this.extract(PackedBurning.of(burning, context), context, transaction), burning, context);
+    }
+
+    @Override
+    public long extract(long burning, BurningContext context, TransactionContext transaction) {
+        var fuel = PackedBurning.getFuel(burning);
+        int duration = context.burnDuration(fuel);
+        int fuelTime = this.operator.applyAsInt(duration);
+        int value = this.extractable(burning, duration, fuelTime);
         updateSnapshots(transaction);
         this.currentBurning -= value;
         if (this.maxBurning > fuelTime && this.currentBurning <= fuelTime) {
             this.maxBurning = fuelTime;
-            this.zero = burning.zero();
+            this.zero = Burning.ofZero(fuel);
         }
-        return burning.withValue(value, context);
+        return PackedBurning.withTicks(burning, value, fuelTime, duration);
+    }
+
+    @Override
+    public long simulateExtract(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        int duration = context.burnDuration(PackedBurning.getFuel(burning));
+        int fuelTime = this.operator.applyAsInt(duration);
+        return PackedBurning.withTicks(burning, this.extractable(burning, duration, fuelTime), fuelTime, duration);
+    }
+
+    private int extractable(long burning, int duration, int fuelTime) {
+        return Math.min(this.currentBurning, PackedBurning.getTicks(burning, duration, fuelTime));
     }
 
     @Override
@@ -150,11 +236,53 @@ public class SimpleBurningStorage
         return this.zero.withValue(this.currentBurning, context);
     }
 
+    @Override
+    public long getPackedBurning(BurningContext context) {
+        var fuel = this.zero.getFuel();
+        int duration = context.burnDuration(fuel);
+        int fuelTime = this.operator.applyAsInt(duration);
+        return PackedBurning.withTicks(PackedBurning.zero(fuel),
+                Math.min(this.currentBurning, fuelTime), fuelTime, duration);
+    }
+
     @Override
     public boolean isBurning() {
         return this.currentBurning > 0;
     }
 
+    @Override
+    public int getConsumptionRate() {
+        return this.consumptionRate;
+    }
+
+    @Override
+    public int getTicksUntilEmpty() {
+        if (this.currentBurning <= 0)
+            return 0;
+        else if (this.consumptionRate <= 0)
+            return -1;
+        else
+            return Math.ceilDiv(this.currentBurning, this.consumptionRate);
+    }
+
+    @Override
+    public BurningState getPublishedState() {
+        return this.published;
+    }
+
+    @Override
+    public boolean subscribe(BurningThresholdListener listener) {
+        if (this.thresholds == null)
+            this.thresholds = new BurningThresholdTracker(this, this::isReached);
+        return this.thresholds.subscribe(listener);
+    }
+
+    @Override
+    public void unsubscribe(BurningThresholdListener listener) {
+        if (this.thresholds != null)
+            this.thresholds.unsubscribe(listener);
+    }
+
     private static final class Context implements BurningContext {
 
         private final BurningContext source;
@@ -185,5 +313,10 @@ public class SimpleBurningStorage
         public int burnDuration(Item item) {
             return this.operator.applyAsInt(this.source.burnDuration(item));
         }
+
+        @Override
+        public boolean isComponentSensitive() {
+            return this.source.isComponentSensitive();
+        }
     }
 }
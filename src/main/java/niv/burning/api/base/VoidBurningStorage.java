@@ -1,9 +1,13 @@
 package niv.burning.api.base;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
 import niv.burning.api.Burning;
 import niv.burning.api.BurningContext;
+import niv.burning.api.BurningState;
 import niv.burning.api.BurningStorage;
+import niv.burning.api.PackedBurning;
 
 /**
  * A singleton {@link BurningStorage} that accepts all input but never stores anything and cannot be extracted from.
@@ -25,18 +29,58 @@ public final class VoidBurningStorage implements BurningStorage {
         return burning;
     }
 
+    @Override
+    public long insert(long burning, BurningContext context, TransactionContext transaction) {
+        return burning;
+    }
+
+    @Override
+    public long simulateInsert(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        return burning;
+    }
+
     @Override
     public Burning extract(Burning burning, BurningContext context, TransactionContext transaction) {
         return burning.zero();
     }
 
+    @Override
+    public long extract(long burning, BurningContext context, TransactionContext transaction) {
+        return PackedBurning.zero(burning);
+    }
+
+    @Override
+    public long simulateExtract(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        return PackedBurning.zero(burning);
+    }
+
     @Override
     public Burning getBurning(BurningContext context) {
         return Burning.MIN_VALUE;
     }
 
+    @Override
+    public long getPackedBurning(BurningContext context) {
+        return PackedBurning.MIN_VALUE;
+    }
+
     @Override
     public boolean isBurning() {
         return false;
     }
+
+    @Override
+    public BurningState getPublishedState() {
+        return BurningState.EMPTY;
+    }
+
+    @Override
+    public int getConsumptionRate() {
+        return 0;
+    }
+
+    @Override
+    public int getTicksUntilEmpty() {
+        return 0;
+    }
 }
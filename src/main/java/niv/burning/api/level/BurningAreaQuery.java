@@ -0,0 +1,172 @@
+package niv.burning.api.level;
+
+import java.util.BitSet;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+import niv.burning.api.BurningContext;
+import niv.burning.api.BurningStorage;
+import niv.burning.api.PackedBurning;
+
+/**
+ * Reads the burning state of every storage in a region at once.
+ *
+ * <p>
+ * Rather than looking up every position, the query goes through the block entities of the
+ * loaded chunks overlapping the region, and looks up only those, with their block state and
+ * block entity already at hand. Unloaded chunks are skipped, and never loaded.
+ * </p>
+ *
+ * <pre>
+ * BurningAreaQuery.Result result = BurningAreaQuery.query(level, box, context);
+ * for (int i = 0; i &lt; result.size(); i++) {
+ *     if (result.isLit(i)) { ... result.getPos(i) ... result.getTicks(i) ... }
+ * }
+ * </pre>
+ */
+public final class BurningAreaQuery {
+
+    private BurningAreaQuery() {
+    }
+
+    /**
+     * Returns the burning state of every storage within the provided box.
+     *
+     * @param level   must not be null
+     * @param box     the region to query, inclusive
+     * @param context the {@link BurningContext} to use
+     * @return a non-null result, ordered by chunk
+     */
+    public static Result query(ServerLevel level, BoundingBox box, BurningContext context) {
+        var positions = new LongArrayList();
+        var fuels = new IntArrayList();
+        var ticks = new IntArrayList();
+        var lit = new BitSet();
+        var chunks = level.getChunkSource();
+        int minX = SectionPos.blockToSectionCoord(box.minX());
+        int maxX = SectionPos.blockToSectionCoord(box.maxX());
+        int minZ = SectionPos.blockToSectionCoord(box.minZ());
+        int maxZ = SectionPos.blockToSectionCoord(box.maxZ());
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                var chunk = chunks.getChunkNow(x, z);
+                if (chunk == null) {
+                    continue;
+                }
+                for (var blockEntity : chunk.getBlockEntities().values()) {
+                    var pos = blockEntity.getBlockPos();
+                    var storage = box.isInside(pos) ? find(level, blockEntity) : null;
+                    if (storage != null) {
+                        long packed = storage.getPackedBurning(context);
+                        if (storage.isBurning()) {
+                            lit.set(positions.size());
+                        }
+                        positions.add(pos.asLong());
+                        fuels.add(PackedBurning.getFuelId(packed));
+                        ticks.add(PackedBurning.getTicks(packed));
+                    }
+                }
+            }
+        }
+        return new Result(positions.toLongArray(), fuels.toIntArray(), ticks.toIntArray(), lit);
+    }
+
+    private static BurningStorage find(ServerLevel level, BlockEntity blockEntity) {
+        if (blockEntity.isRemoved()) {
+            return null;
+        }
+        return BurningStorage.SIDED.find(level, blockEntity.getBlockPos(), blockEntity.getBlockState(),
+                blockEntity, null);
+    }
+
+    /**
+     * The compact result of a query: the i-th storage found is described by the i-th element of every array.
+     */
+    public static final class Result {
+
+        private final long[] positions;
+
+        private final int[] fuels;
+
+        private final int[] ticks;
+
+        private final BitSet lit;
+
+        private Result(long[] positions, int[] fuels, int[] ticks, BitSet lit) {
+            this.positions = positions;
+            this.fuels = fuels;
+            this.ticks = ticks;
+            this.lit = lit;
+        }
+
+        /**
+         * @return the number of storages found
+         */
+        public int size() {
+            return this.positions.length;
+        }
+
+        /**
+         * @return the i-th storage's position
+         */
+        public BlockPos getPos(int index) {
+            return BlockPos.of(this.positions[index]);
+        }
+
+        /**
+         * @return the i-th storage's fuel
+         */
+        public Item getFuel(int index) {
+            return BuiltInRegistries.ITEM.byId(this.fuels[index]);
+        }
+
+        /**
+         * @return the i-th storage's burning, in whole ticks
+         */
+        public int getTicks(int index) {
+            return this.ticks[index];
+        }
+
+        /**
+         * @return whether the i-th storage is burning
+         */
+        public boolean isLit(int index) {
+            return this.lit.get(index);
+        }
+
+        /**
+         * @return the positions of the storages found, as {@link BlockPos#asLong()}; must not be modified
+         */
+        public long[] getPositions() {
+            return this.positions;
+        }
+
+        /**
+         * @return the raw registry ids of the storages' fuels; must not be modified
+         */
+        public int[] getFuelIds() {
+            return this.fuels;
+        }
+
+        /**
+         * @return the storages' burning, in whole ticks; must not be modified
+         */
+        public int[] getTicks() {
+            return this.ticks;
+        }
+
+        /**
+         * @return the number of storages found burning
+         */
+        public int getLitCount() {
+            return this.lit.cardinality();
+        }
+    }
+}
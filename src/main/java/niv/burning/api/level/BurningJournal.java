@@ -0,0 +1,329 @@
+package niv.burning.api.level;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraft.world.level.saveddata.SavedDataType;
+import niv.burning.api.BurningContext;
+import niv.burning.api.BurningStorage;
+import niv.burning.api.PackedBurning;
+import niv.burning.impl.BurningImpl;
+
+/**
+ * An opt-in journal of burning insertions into storages of a level whose chunks are not loaded.
+ *
+ * <p>
+ * Journaled insertions are kept per position, with those of the same fuel merged as long as they
+ * fit in a packed burning, and saved with the level. When a chunk with journaled insertions is
+ * loaded, they are all applied at the end of the level's tick, in a single transaction, to the
+ * storages found at their positions without side. Whatever does not fit stays in the journal until
+ * the chunk is loaded again. Insertions into positions without a storage are kept too, e.g. for
+ * a machine whose block entity is not there yet, but only for up to {@link #MAX_MISSED_LOADS}
+ * loads in a row, after which they are dropped.
+ * </p>
+ *
+ * <pre>
+ * long inserted = BurningJournal.insertOrDefer(level, pos, direction, burning, context, transaction);
+ * </pre>
+ *
+ * <p>
+ * This class is not thread-safe, and must only be used on the server thread.
+ * </p>
+ */
+public final class BurningJournal extends SavedData {
+
+    private static final Codec<Entry> ENTRY_CODEC = RecordCodecBuilder.create(instance -> instance
+            .group(
+                    Codec.LONG.fieldOf("pos").forGetter(Entry::pos),
+                    BuiltInRegistries.ITEM.byNameCodec().fieldOf("fuel").forGetter(Entry::fuel),
+                    Codec.LONG.fieldOf("fixed_ticks").forGetter(Entry::fixedTicks),
+                    Codec.INT.optionalFieldOf("missed_loads", 0).forGetter(Entry::missedLoads))
+            .apply(instance, Entry::new));
+
+    /**
+     * How many times in a row the chunk of a position can be loaded without a storage there
+     * before the insertions journaled for it are dropped.
+     */
+    public static final int MAX_MISSED_LOADS = 3;
+
+    public static final Codec<BurningJournal> CODEC = ENTRY_CODEC.listOf()
+            .xmap(BurningJournal::new, BurningJournal::entries);
+
+    private static final SavedDataType<BurningJournal> TYPE = new SavedDataType<>(
+            BurningImpl.MOD_ID + "_journal", BurningJournal::new, CODEC, null);
+
+    private final Long2ObjectOpenHashMap<Long2ObjectOpenHashMap<LongArrayList>> chunks;
+
+    private final LongOpenHashSet loaded;
+
+    private final Long2IntOpenHashMap missedLoads;
+
+    private final Pending pending;
+
+    private BurningJournal() {
+        this.chunks = new Long2ObjectOpenHashMap<>();
+        this.loaded = new LongOpenHashSet();
+        this.missedLoads = new Long2IntOpenHashMap();
+        this.pending = new Pending();
+    }
+
+    private BurningJournal(List<Entry> entries) {
+        this();
+        for (var entry : entries) {
+            this.add(entry.pos(), PackedBurning.pack(entry.fuel(), entry.fixedTicks()));
+            if (entry.missedLoads() > 0) {
+                this.missedLoads.put(entry.pos(), entry.missedLoads());
+            }
+        }
+        this.setDirty(false);
+    }
+
+    /**
+     * Returns the journal of the provided level, creating it if it does not exist yet.
+     *
+     * @param level must not be null
+     * @return a non-null instance
+     */
+    public static BurningJournal of(ServerLevel level) {
+        return level.getDataStorage().computeIfAbsent(TYPE);
+    }
+
+    /**
+     * Marks the provided chunk, if it has journaled insertions, to be applied at the end of this tick.
+     * Called whenever a chunk is loaded.
+     *
+     * @param level must not be null
+     * @param chunk must not be null
+     */
+    @ApiStatus.Internal
+    public static void onChunkLoad(ServerLevel level, LevelChunk chunk) {
+        var journal = level.getDataStorage().get(TYPE);
+        if (journal != null) {
+            long key = chunk.getPos().toLong();
+            if (journal.chunks.containsKey(key)) {
+                journal.loaded.add(key);
+            }
+        }
+    }
+
+    /**
+     * Applies the journaled insertions of the chunks loaded during this tick, if any.
+     * Called at the end of every level tick.
+     *
+     * @param level must not be null
+     */
+    @ApiStatus.Internal
+    public static void tick(ServerLevel level) {
+        var journal = level.getDataStorage().get(TYPE);
+        if (journal != null && !journal.loaded.isEmpty() && !Transaction.isOpen()) {
+            journal.apply(level);
+        }
+    }
+
+    /**
+     * Inserts up to the provided packed burning into the storage at the provided position and side,
+     * if its chunk is loaded, or journals all of it otherwise.
+     *
+     * @param level       must not be null
+     * @param pos         the position of the target storage
+     * @param side        the side to insert from, or {@code null}; journaled insertions ignore it
+     * @param burning     the maximum packed burning to insert
+     * @param context     the {@link BurningContext} to use
+     * @param transaction the transaction this operation is part of
+     * @return the packed burning inserted or journaled, zero if the chunk is loaded but has no storage there
+     */
+    public static long insertOrDefer(ServerLevel level, BlockPos pos, @Nullable Direction side,
+            long burning, BurningContext context, TransactionContext transaction) {
+        if (level.isLoaded(pos)) {
+            var storage = BurningStorage.SIDED.find(level, pos, side);
+            return storage == null
+                    ? PackedBurning.zero(burning)
+                    : storage.insert(burning, context, transaction);
+        } else {
+            of(level).record(pos, burning, transaction);
+            return burning;
+        }
+    }
+
+    /**
+     * Journals the provided packed burning for insertion into the storage at the provided position,
+     * once its chunk is loaded. The insertion is journaled only if the transaction is committed.
+     *
+     * @param pos         the position of the target storage
+     * @param burning     the packed burning to insert
+     * @param transaction the transaction this operation is part of
+     */
+    public void record(BlockPos pos, long burning, TransactionContext transaction) {
+        if (!PackedBurning.isZero(burning)) {
+            this.pending.record(pos.asLong(), burning, transaction);
+        }
+    }
+
+    /**
+     * Returns the number of positions with journaled insertions.
+     *
+     * @return a non-negative int
+     */
+    public int size() {
+        int result = 0;
+        for (var positions : this.chunks.values()) {
+            result += positions.size();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the packed burnings journaled for the provided position.
+     *
+     * @param pos must not be null
+     * @return a new array, empty if there are none
+     */
+    public long[] getPending(BlockPos pos) {
+        var positions = this.chunks.get(ChunkPos.asLong(pos));
+        var burnings = positions == null ? null : positions.get(pos.asLong());
+        return burnings == null ? new long[0] : burnings.toLongArray();
+    }
+
+    private void add(long pos, long burning) {
+        var positions = this.chunks.get(ChunkPos.asLong(BlockPos.of(pos)));
+        if (positions == null) {
+            positions = new Long2ObjectOpenHashMap<>();
+            this.chunks.put(ChunkPos.asLong(BlockPos.of(pos)), positions);
+        }
+        var burnings = positions.get(pos);
+        if (burnings == null) {
+            burnings = new LongArrayList(1);
+            positions.put(pos, burnings);
+        }
+        int fuelId = PackedBurning.getFuelId(burning);
+        long remaining = PackedBurning.getFixedTicks(burning);
+        for (int i = 0; i < burnings.size() && remaining > 0L; i++) {
+            long current = burnings.getLong(i);
+            if (PackedBurning.getFuelId(current) == fuelId) {
+                long merged = Math.min(PackedBurning.MAX_FIXED_TICKS, PackedBurning.getFixedTicks(current) + remaining);
+                remaining -= merged - PackedBurning.getFixedTicks(current);
+                burnings.set(i, PackedBurning.withFixedTicks(current, merged));
+            }
+        }
+        if (remaining > 0L) {
+            burnings.add(PackedBurning.withFixedTicks(burning, remaining));
+        }
+        this.setDirty();
+    }
+
+    private void apply(ServerLevel level) {
+        var context = BurningContext.of(level);
+        try (var transaction = Transaction.openOuter()) {
+            for (var iterator = this.loaded.iterator(); iterator.hasNext();) {
+                long key = iterator.nextLong();
+                var positions = this.chunks.get(key);
+                if (positions != null && level.getChunkSource().getChunkNow(
+                        ChunkPos.getX(key), ChunkPos.getZ(key)) != null) {
+                    this.apply(level, positions, context, transaction);
+                    if (positions.isEmpty()) {
+                        this.chunks.remove(key);
+                    }
+                }
+            }
+            transaction.commit();
+        }
+        this.loaded.clear();
+        this.setDirty();
+    }
+
+    private void apply(ServerLevel level, Long2ObjectOpenHashMap<LongArrayList> positions,
+            BurningContext context, TransactionContext transaction) {
+        for (var iterator = positions.long2ObjectEntrySet().fastIterator(); iterator.hasNext();) {
+            var entry = iterator.next();
+            var storage = BurningStorage.SIDED.find(level, BlockPos.of(entry.getLongKey()), null);
+            var burnings = entry.getValue();
+            if (storage == null) {
+                if (this.missedLoads.addTo(entry.getLongKey(), 1) + 1 >= MAX_MISSED_LOADS) {
+                    this.missedLoads.remove(entry.getLongKey());
+                    iterator.remove();
+                }
+            } else {
+                this.missedLoads.remove(entry.getLongKey());
+                for (int i = burnings.size() - 1; i >= 0; i--) {
+                    long burning = burnings.getLong(i);
+                    long remaining = PackedBurning.getFixedTicks(burning) - PackedBurning.getFixedTicks(
+                            storage.insert(burning, context, transaction));
+                    if (remaining > 0L) {
+                        burnings.set(i, PackedBurning.withFixedTicks(burning, remaining));
+                    } else {
+                        burnings.removeLong(i);
+                    }
+                }
+                if (burnings.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private List<Entry> entries() {
+        var result = new ArrayList<Entry>();
+        for (var positions : this.chunks.values()) {
+            for (var entry : positions.long2ObjectEntrySet()) {
+                for (long burning : entry.getValue()) {
+                    result.add(new Entry(entry.getLongKey(), PackedBurning.getFuel(burning),
+                            PackedBurning.getFixedTicks(burning), this.missedLoads.get(entry.getLongKey())));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static record Entry(long pos, Item fuel, long fixedTicks, int missedLoads) {
+    }
+
+    private final class Pending extends SnapshotParticipant<Integer> {
+
+        private final LongArrayList records = new LongArrayList();
+
+        private void record(long pos, long burning, TransactionContext transaction) {
+            updateSnapshots(transaction);
+            this.records.add(pos);
+            this.records.add(burning);
+        }
+
+        @Override
+        protected Integer createSnapshot() {
+            return this.records.size();
+        }
+
+        @Override
+        protected void readSnapshot(Integer snapshot) {
+            this.records.size(snapshot);
+        }
+
+        @Override
+        protected void onFinalCommit() {
+            for (int i = 0; i < this.records.size(); i += 2) {
+                BurningJournal.this.add(this.records.getLong(i), this.records.getLong(i + 1));
+            }
+            this.records.clear();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package niv.burning.api.level;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.google.common.collect.MapMaker;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import niv.burning.api.BurningState;
+import niv.burning.api.BurningStorage;
+
+/**
+ * The {@linkplain BurningStorage#getPublishedState() published states} of the loaded storages of a level,
+ * readable in bulk from any thread.
+ *
+ * <p>
+ * The feed holds the storages indexed by {@link BurningStorageIndex} which publish their state, and
+ * is updated on the server thread as block entities are loaded and unloaded. Reading it only reads
+ * volatile fields and a concurrent map, so monitoring threads never block, nor are blocked by, the
+ * server thread; in exchange, states may be as old as their storage's last publication.
+ * </p>
+ *
+ * <pre>
+ * BurningStateFeed.of(level).forEach((pos, state) -> dashboard.update(pos, state.ticks(), state.lit()));
+ * </pre>
+ */
+public final class BurningStateFeed {
+
+    private static final Map<ServerLevel, BurningStateFeed> INSTANCES = new MapMaker()
+            .weakKeys().makeMap();
+
+    private final ConcurrentHashMap<BlockPos, BurningStorage> storages;
+
+    private BurningStateFeed() {
+        this.storages = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the feed of the provided level. Safe to call from any thread.
+     *
+     * @param level must not be null
+     * @return a non-null instance
+     */
+    public static BurningStateFeed of(ServerLevel level) {
+        return INSTANCES.computeIfAbsent(level, key -> new BurningStateFeed());
+    }
+
+    /**
+     * Returns the number of storages in this feed.
+     *
+     * @return a non-negative int
+     */
+    public int size() {
+        return this.storages.size();
+    }
+
+    /**
+     * Returns the latest published state of the storage at the provided position.
+     *
+     * @param pos must not be null
+     * @return a state, or {@code null} if there is no publishing storage at that position
+     */
+    public @Nullable BurningState get(BlockPos pos) {
+        var storage = this.storages.get(pos);
+        return storage == null ? null : storage.getPublishedState();
+    }
+
+    /**
+     * Calls the provided action with the latest published state of every storage in this feed.
+     *
+     * @param action must not be null
+     */
+    public void forEach(BiConsumer<BlockPos, BurningState> action) {
+        this.storages.forEach((pos, storage) -> {
+            var state = storage.getPublishedState();
+            if (state != null) {
+                action.accept(pos, state);
+            }
+        });
+    }
+
+    /**
+     * Returns the latest published state of every storage in this feed.
+     *
+     * @return a new map
+     */
+    public Map<BlockPos, BurningState> snapshot() {
+        var result = new HashMap<BlockPos, BurningState>(this.storages.size() * 2);
+        this.forEach(result::put);
+        return result;
+    }
+
+    void add(BlockPos pos, BurningStorage storage) {
+        if (storage.getPublishedState() != null) {
+            this.storages.put(pos, storage);
+        }
+    }
+
+    void remove(BlockPos pos, BurningStorage storage) {
+        this.storages.remove(pos, storage);
+    }
+}
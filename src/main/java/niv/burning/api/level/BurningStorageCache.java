@@ -0,0 +1,116 @@
+package niv.burning.api.level;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import niv.burning.api.BurningStorage;
+
+/**
+ * A cached {@link BurningStorage#SIDED} lookup of a single position and side.
+ *
+ * <p>
+ * The resolved storage is kept until the block entity at the position is removed or replaced,
+ * or its block state changes, so that repeated lookups of a block entity cost a couple of field
+ * reads. Positions without block entities are checked against their block state instead.
+ * Positions in unloaded chunks are never looked up, nor loaded.
+ * </p>
+ *
+ * <pre>
+ * BurningStorageCache cache = BurningStorageCache.create(level, pos.relative(direction), direction.getOpposite());
+ * BurningStorage target = cache.find();
+ * </pre>
+ *
+ * <p>
+ * This class is not thread-safe, and must only be used on the server thread.
+ * </p>
+ */
+public final class BurningStorageCache {
+
+    private final ServerLevel level;
+
+    private final BlockPos pos;
+
+    private final @Nullable Direction side;
+
+    private boolean resolved;
+
+    private @Nullable BlockState state;
+
+    private @Nullable BlockEntity blockEntity;
+
+    private @Nullable BurningStorage storage;
+
+    private BurningStorageCache(ServerLevel level, BlockPos pos, @Nullable Direction side) {
+        this.level = level;
+        this.pos = pos.immutable();
+        this.side = side;
+        this.resolved = false;
+    }
+
+    /**
+     * Creates a cached lookup of the provided position and side.
+     *
+     * @param level must not be null
+     * @param pos   must not be null
+     * @param side  the side to query, or {@code null} for the full storage
+     * @return a non-null instance
+     */
+    public static BurningStorageCache create(ServerLevel level, BlockPos pos, @Nullable Direction side) {
+        return new BurningStorageCache(level, pos, side);
+    }
+
+    public ServerLevel getLevel() {
+        return this.level;
+    }
+
+    public BlockPos getPos() {
+        return this.pos;
+    }
+
+    public @Nullable Direction getSide() {
+        return this.side;
+    }
+
+    /**
+     * Returns the storage at this position and side, looking it up again only if the block there changed.
+     *
+     * @return a storage, or {@code null} if there is none, or the position is not loaded
+     */
+    public @Nullable BurningStorage find() {
+        if (this.resolved && this.isValid()) {
+            return this.storage;
+        }
+        this.resolved = false;
+        this.state = null;
+        this.blockEntity = null;
+        this.storage = null;
+        if (!this.level.isLoaded(this.pos)) {
+            return null;
+        }
+        this.state = this.level.getBlockState(this.pos);
+        this.blockEntity = this.state.hasBlockEntity() ? this.level.getBlockEntity(this.pos) : null;
+        this.storage = BurningStorage.SIDED.find(this.level, this.pos, this.state, this.blockEntity, this.side);
+        this.resolved = true;
+        return this.storage;
+    }
+
+    /**
+     * Forces the next {@link #find()} to look the storage up again.
+     */
+    public void invalidate() {
+        this.resolved = false;
+    }
+
+    private boolean isValid() {
+        var entity = this.blockEntity;
+        if (entity != null) {
+            return !entity.isRemoved() && entity.getBlockState() == this.state;
+        } else {
+            return this.level.isLoaded(this.pos) && this.level.getBlockState(this.pos) == this.state;
+        }
+    }
+}
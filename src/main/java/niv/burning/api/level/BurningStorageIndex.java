@@ -0,0 +1,292 @@
+package niv.burning.api.level;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import com.google.common.collect.MapMaker;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import niv.burning.api.BurningContext;
+import niv.burning.api.BurningStorage;
+import niv.burning.api.BurningThreshold;
+import niv.burning.api.BurningThresholdListener;
+import niv.burning.api.PackedBurning;
+
+/**
+ * An index of the block entities of a level resolving to a {@link BurningStorage}, grouped by chunk.
+ *
+ * <p>
+ * The index is updated as block entities are loaded and unloaded, looking each one up through
+ * {@link BurningStorage#SIDED}, so that providers registered for blocks and for block entity types
+ * are both found. Indexed storages are subscribed to, so that
+ * the storages which are empty, full, or lit are known at any time, and
+ * {@link #getReached(BurningThreshold)} costs in proportion to the number of matches, plus the
+ * number of indexed storages not supporting subscriptions, which are checked on every query.
+ * </p>
+ *
+ * <pre>
+ * for (var entry : BurningStorageIndex.of(level).getReached(BurningThreshold.LIT)) {
+ *     ... entry.getPos() ... entry.getStorage() ...
+ * }
+ * </pre>
+ *
+ * <p>
+ * This class is not thread-safe, and must only be used on the server thread.
+ * </p>
+ */
+public final class BurningStorageIndex {
+
+    private static final Map<ServerLevel, BurningStorageIndex> INSTANCES = new MapMaker()
+            .weakKeys().makeMap();
+
+    private static final BurningThreshold[] THRESHOLDS = BurningThreshold.values();
+
+    private final ServerLevel level;
+
+    private final Long2ObjectOpenHashMap<Long2ObjectOpenHashMap<Entry>> chunks;
+
+    private final List<ReferenceLinkedOpenHashSet<Entry>> reached;
+
+    private final ReferenceLinkedOpenHashSet<Entry> unobserved;
+
+    private int size;
+
+    private BurningStorageIndex(ServerLevel level) {
+        this.level = level;
+        this.chunks = new Long2ObjectOpenHashMap<>();
+        this.reached = new ArrayList<>(THRESHOLDS.length);
+        for (int i = 0; i < THRESHOLDS.length; i++) {
+            this.reached.add(new ReferenceLinkedOpenHashSet<>());
+        }
+        this.unobserved = new ReferenceLinkedOpenHashSet<>();
+        this.size = 0;
+    }
+
+    /**
+     * Returns the index of the provided level.
+     *
+     * @param level must not be null
+     * @return a non-null instance
+     */
+    public static BurningStorageIndex of(ServerLevel level) {
+        return INSTANCES.computeIfAbsent(level, BurningStorageIndex::new);
+    }
+
+    /**
+     * Indexes the provided block entity, if it resolves to a storage.
+     * Called whenever a block entity is loaded.
+     *
+     * @param blockEntity must not be null
+     * @param level       must not be null
+     */
+    @ApiStatus.Internal
+    public static void onLoad(BlockEntity blockEntity, ServerLevel level) {
+        var storage = BurningStorage.SIDED.find(level, blockEntity.getBlockPos(), blockEntity.getBlockState(),
+                blockEntity, null);
+        // a block entity without storage may still replace an indexed one
+        var index = storage == null ? INSTANCES.get(level) : of(level);
+        if (index != null) {
+            index.add(blockEntity, storage);
+        }
+    }
+
+    /**
+     * Removes the provided block entity from the index, if present.
+     * Called whenever a block entity is unloaded.
+     *
+     * @param blockEntity must not be null
+     * @param level       must not be null
+     */
+    @ApiStatus.Internal
+    public static void onUnload(BlockEntity blockEntity, ServerLevel level) {
+        var index = INSTANCES.get(level);
+        if (index != null) {
+            index.remove(blockEntity.getBlockPos(), blockEntity);
+        }
+    }
+
+    /**
+     * Returns the number of indexed storages.
+     *
+     * @return a non-negative int
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the indexed storages of the provided chunk.
+     *
+     * @param pos must not be null
+     * @return an unmodifiable view, empty if the chunk has none or is not loaded
+     */
+    public Collection<Entry> getStorages(ChunkPos pos) {
+        var entries = this.chunks.get(pos.toLong());
+        return entries == null ? List.of() : Collections.unmodifiableCollection(entries.values());
+    }
+
+    /**
+     * Calls the provided action for every indexed storage, chunk by chunk.
+     *
+     * @param action must not be null
+     */
+    public void forEach(Consumer<Entry> action) {
+        for (var entries : this.chunks.values()) {
+            entries.values().forEach(action);
+        }
+    }
+
+    /**
+     * Returns the indexed storages currently at the provided threshold, e.g. every lit storage.
+     *
+     * @param threshold must not be null
+     * @return a new list
+     */
+    public List<Entry> getReached(BurningThreshold threshold) {
+        var observed = this.reached.get(threshold.ordinal());
+        var result = new ArrayList<Entry>(observed.size());
+        result.addAll(observed);
+        if (!this.unobserved.isEmpty()) {
+            var context = BurningContext.of(this.level);
+            for (var entry : this.unobserved) {
+                if (isReached(entry.storage, threshold, context)) {
+                    result.add(entry);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void add(BlockEntity blockEntity, @Nullable BurningStorage storage) {
+        var pos = blockEntity.getBlockPos().immutable();
+        long chunk = ChunkPos.asLong(pos);
+        var entries = this.chunks.get(chunk);
+        var previous = entries == null ? null : entries.remove(pos.asLong());
+        if (previous != null) {
+            this.discard(previous);
+        }
+        if (storage == null) {
+            if (entries != null && entries.isEmpty()) {
+                this.chunks.remove(chunk);
+            }
+            return;
+        }
+        if (entries == null) {
+            entries = new Long2ObjectOpenHashMap<>();
+            this.chunks.put(chunk, entries);
+        }
+        var entry = new Entry(pos, blockEntity, storage);
+        entries.put(pos.asLong(), entry);
+        this.size++;
+        BurningStateFeed.of(this.level).add(pos, storage);
+        if (storage.subscribe(entry.listener)) {
+            var context = BurningContext.of(this.level);
+            for (var threshold : THRESHOLDS) {
+                if (isReached(storage, threshold, context)) {
+                    this.reached.get(threshold.ordinal()).add(entry);
+                }
+            }
+        } else {
+            this.unobserved.add(entry);
+        }
+    }
+
+    private void remove(BlockPos pos, BlockEntity blockEntity) {
+        long chunk = ChunkPos.asLong(pos);
+        var entries = this.chunks.get(chunk);
+        if (entries == null) {
+            return;
+        }
+        var entry = entries.get(pos.asLong());
+        if (entry != null && entry.blockEntity == blockEntity) {
+            entries.remove(pos.asLong());
+            this.discard(entry);
+            if (entries.isEmpty()) {
+                this.chunks.remove(chunk);
+            }
+        }
+    }
+
+    private void discard(Entry entry) {
+        this.size--;
+        BurningStateFeed.of(this.level).remove(entry.pos, entry.storage);
+        entry.storage.unsubscribe(entry.listener);
+        this.unobserved.remove(entry);
+        for (var set : this.reached) {
+            set.remove(entry);
+        }
+    }
+
+    private static boolean isReached(BurningStorage storage, BurningThreshold threshold, BurningContext context) {
+        return switch (threshold) {
+            case EMPTY -> PackedBurning.isZero(storage.getPackedBurning(context));
+            case FULL -> {
+                long packed = storage.getPackedBurning(context);
+                int duration = PackedBurning.getBurnDuration(packed, context);
+                yield duration > 0 && PackedBurning.getTicks(packed) >= duration;
+            }
+            case LIT -> storage.isBurning();
+        };
+    }
+
+    /**
+     * An indexed storage, together with its position.
+     */
+    public final class Entry {
+
+        private final BlockPos pos;
+
+        private final BlockEntity blockEntity;
+
+        private final BurningStorage storage;
+
+        private final BurningThresholdListener listener;
+
+        private Entry(BlockPos pos, BlockEntity blockEntity, BurningStorage storage) {
+            this.pos = pos;
+            this.blockEntity = blockEntity;
+            this.storage = storage;
+            this.listener = (source, threshold, isReached) -> {
+                var set = BurningStorageIndex.this.reached.get(threshold.ordinal());
+                if (isReached) {
+                    set.add(this);
+                } else {
+                    set.remove(this);
+                }
+            };
+        }
+
+        /**
+         * @return the position of the storage
+         */
+        public BlockPos getPos() {
+            return this.pos;
+        }
+
+        /**
+         * @return the block entity the storage was resolved from
+         */
+        public BlockEntity getBlockEntity() {
+            return this.blockEntity;
+        }
+
+        /**
+         * @return the storage, as resolved with no side
+         */
+        public BurningStorage getStorage() {
+            return this.storage;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package niv.burning.api.level;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.minecraft.server.MinecraftServer;
+import niv.burning.api.BoundBurning;
+import niv.burning.api.BurningContext;
+import niv.burning.api.BurningDistribution;
+import niv.burning.api.BurningStorage;
+import niv.burning.api.PackedBurning;
+
+/**
+ * Plans transfers between many sources and many sinks away from the server thread.
+ *
+ * <p>
+ * Planning happens in three stages:
+ * <ol>
+ * <li>{@link #snapshot} reads, on the server thread, how much every source can give and every sink
+ * can take, through their simulated extractions and insertions, into an immutable {@link Snapshot};</li>
+ * <li>{@link Snapshot#plan} computes, on any thread, which source gives how much to which sink, into an
+ * immutable {@link Plan}: sinks of higher {@linkplain BurningStorage#getPriority() priority} are
+ * served first, sinks of the same priority split what is left by the provided distribution, and
+ * no storage is planned to give to itself;</li>
+ * <li>{@link Plan#apply} performs, back on the server thread, every planned move in a single
+ * transaction, each checked against the storages' current state by {@link BurningStorage#transfer}.</li>
+ * </ol>
+ * {@link #submit} chains all three, planning on the provided executor, and applying on the server.
+ * </p>
+ *
+ * <pre>
+ * BurningTransferPlanner.submit(server, Util.backgroundExecutor(), sources, sinks, burning, context,
+ *         BurningDistribution.EVEN);
+ * </pre>
+ */
+public final class BurningTransferPlanner {
+
+    private BurningTransferPlanner() {
+    }
+
+    /**
+     * Reads how much every source can give and every sink can take. Must be called on the server thread,
+     * as it calls the storages' simulated extractions and insertions, and reads their burning.
+     *
+     * @param sources the source storages, which may contain nulls
+     * @param sinks   the sink storages, which may contain nulls
+     * @param burning the fuel to move, and the maximum packed burning that may be moved, in total
+     * @param context the {@link BurningContext} to use
+     * @return a non-null immutable snapshot
+     */
+    public static Snapshot snapshot(List<? extends @Nullable BurningStorage> sources,
+            List<? extends @Nullable BurningStorage> sinks, long burning, BurningContext context) {
+        context = BoundBurning.memoize(context);
+        var from = sources.toArray(BurningStorage[]::new);
+        var to = sinks.toArray(BurningStorage[]::new);
+        var available = new long[from.length];
+        for (int i = 0; i < from.length; i++) {
+            if (from[i] != null && from[i].supportsExtraction()) {
+                available[i] = PackedBurning.getTicks(from[i].simulateExtract(burning, context, null));
+            }
+        }
+        var capacities = new long[to.length];
+        var levels = new long[to.length];
+        var priorities = new int[to.length];
+        for (int i = 0; i < to.length; i++) {
+            if (to[i] != null && to[i].supportsInsertion()) {
+                capacities[i] = PackedBurning.getTicks(to[i].simulateInsert(burning, context, null));
+                levels[i] = PackedBurning.getTicks(to[i].getPackedBurning(context));
+                priorities[i] = to[i].getPriority();
+            }
+        }
+        return new Snapshot(from, to, burning, available, capacities, levels, priorities);
+    }
+
+    /**
+     * Snapshots the provided storages now, plans on the provided executor, and applies the plan on
+     * the server thread. Must be called on the server thread.
+     *
+     * @param server       the server to apply the plan on
+     * @param executor     the executor to plan on, e.g. a worker pool or a virtual thread executor
+     * @param sources      the source storages, which may contain nulls
+     * @param sinks        the sink storages, which may contain nulls
+     * @param burning      the fuel to move, and the maximum packed burning that may be moved, in total
+     * @param context      the {@link BurningContext} to use
+     * @param distribution how to split the burning among sinks of the same priority
+     * @return a future completed on the server thread with the packed burning actually moved
+     */
+    public static CompletableFuture<Long> submit(MinecraftServer server, Executor executor,
+            List<? extends @Nullable BurningStorage> sources, List<? extends @Nullable BurningStorage> sinks,
+            long burning, BurningContext context, BurningDistribution distribution) {
+        var snapshot = snapshot(sources, sinks, burning, context);
+        return CompletableFuture
+                .supplyAsync(() -> snapshot.plan(distribution), executor)
+                .thenApplyAsync(plan -> plan.apply(context, null), server);
+    }
+
+    /**
+     * The immutable state of the sources and sinks of a planned transfer, in whole ticks.
+     * Its storages must not be accessed off the server thread.
+     */
+    public static final class Snapshot {
+
+        private final BurningStorage[] sources;
+
+        private final BurningStorage[] sinks;
+
+        private final long burning;
+
+        private final long[] available;
+
+        private final long[] capacities;
+
+        private final long[] levels;
+
+        private final int[] priorities;
+
+        private Snapshot(BurningStorage[] sources, BurningStorage[] sinks, long burning,
+                long[] available, long[] capacities, long[] levels, int[] priorities) {
+            this.sources = sources;
+            this.sinks = sinks;
+            this.burning = burning;
+            this.available = available;
+            this.capacities = capacities;
+            this.levels = levels;
+            this.priorities = priorities;
+        }
+
+        /**
+         * Computes a plan from this snapshot. Safe to call on any thread.
+         *
+         * @param distribution how to split the burning among sinks of the same priority;
+         *                     it is called once per priority, with the capacity of every other sink set to zero
+         * @return a non-null immutable plan
+         */
+        public Plan plan(BurningDistribution distribution) {
+            int size = this.sinks.length;
+            long remaining = Math.min(PackedBurning.getTicks(this.burning), Arrays.stream(this.available).sum());
+            var demands = new long[size];
+            var order = new Integer[size];
+            Arrays.setAll(order, i -> i);
+            Arrays.sort(order, (a, b) -> Integer.compare(this.priorities[b], this.priorities[a]));
+            var capacities = new long[size];
+            var shares = new long[size];
+            for (int start = 0; start < size && remaining > 0L;) {
+                int priority = this.priorities[order[start]];
+                int end = start;
+                Arrays.fill(capacities, 0L);
+                Arrays.fill(shares, 0L);
+                while (end < size && this.priorities[order[end]] == priority) {
+                    capacities[order[end]] = this.capacities[order[end]];
+                    end++;
+                }
+                distribution.distribute(remaining, capacities, this.levels, shares);
+                for (int i = start; i < end && remaining > 0L; i++) {
+                    int sink = order[i];
+                    demands[sink] = Math.min(remaining, Math.min(capacities[sink], Math.max(0L, shares[sink])));
+                    remaining -= demands[sink];
+                }
+                start = end;
+            }
+            var from = new IntArrayList();
+            var to = new IntArrayList();
+            var ticks = new LongArrayList();
+            var left = this.available.clone();
+            int first = 0;
+            for (int sink : order) {
+                long demand = demands[sink];
+                for (int source = first; demand > 0L && source < left.length; source++) {
+                    if (left[source] > 0L && this.sources[source] != this.sinks[sink]) {
+                        long value = Math.min(demand, left[source]);
+                        from.add(source);
+                        to.add(sink);
+                        ticks.add(value);
+                        demand -= value;
+                        left[source] -= value;
+                    }
+                }
+                while (first < left.length && left[first] <= 0L) {
+                    first++;
+                }
+            }
+            return new Plan(this, from.toIntArray(), to.toIntArray(), ticks.toLongArray());
+        }
+    }
+
+    /**
+     * An immutable list of moves from a source to a sink of a {@link Snapshot}.
+     */
+    public static final class Plan {
+
+        private final Snapshot snapshot;
+
+        private final int[] from;
+
+        private final int[] to;
+
+        private final long[] ticks;
+
+        private Plan(Snapshot snapshot, int[] from, int[] to, long[] ticks) {
+            this.snapshot = snapshot;
+            this.from = from;
+            this.to = to;
+            this.ticks = ticks;
+        }
+
+        /**
+         * @return the number of planned moves
+         */
+        public int size() {
+            return this.ticks.length;
+        }
+
+        /**
+         * @return the index of the i-th move's source in the snapshot's sources
+         */
+        public int getSource(int index) {
+            return this.from[index];
+        }
+
+        /**
+         * @return the index of the i-th move's sink in the snapshot's sinks
+         */
+        public int getSink(int index) {
+            return this.to[index];
+        }
+
+        /**
+         * @return the i-th move's burning, in whole ticks
+         */
+        public long getTicks(int index) {
+            return this.ticks[index];
+        }
+
+        /**
+         * Performs every move of this plan in a single transaction. Must be called on the server thread.
+         * Moves are checked against the storages' current state, and those which no longer fit move less,
+         * or nothing.
+         *
+         * @param context     the {@link BurningContext} to use
+         * @param transaction the transaction this operation is part of,
+         *                    or {@code null} if a transaction should be opened just for it
+         * @return the total packed burning actually moved
+         */
+        public long apply(BurningContext context, @Nullable TransactionContext transaction) {
+            context = BoundBurning.memoize(context);
+            var sources = this.snapshot.sources;
+            var sinks = this.snapshot.sinks;
+            long burning = this.snapshot.burning;
+            long moved = 0L;
+            try (var actual = Transaction.openNested(transaction)) {
+                for (int i = 0; i < this.ticks.length; i++) {
+                    var source = sources[this.from[i]];
+                    var sink = sinks[this.to[i]];
+                    if (source != sink) {
+                        moved += PackedBurning.getFixedTicks(BurningStorage.transfer(source, sink,
+                                PackedBurning.withTicks(burning, (int) this.ticks[i]), context, actual));
+                    }
+                }
+                actual.commit();
+            }
+            return PackedBurning.withFixedTicks(burning, moved);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package niv.burning.api.level;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import com.google.common.collect.MapMaker;
+
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.minecraft.server.level.ServerLevel;
+import niv.burning.api.Burning;
+import niv.burning.api.BurningContext;
+import niv.burning.api.BurningStorage;
+import niv.burning.api.PackedBurning;
+
+/**
+ * Queues {@link BurningStorage#transfer} requests of a level, and runs them all at the end of
+ * the level's tick, in a single outer transaction, within a time budget.
+ *
+ * <p>
+ * Requests between the same storages, with the same fuel and context, are coalesced into one,
+ * moving as much as the largest of them, so that a request repeated every tick while deferred does
+ * not pile up into a burst. Requests run in order of their target's
+ * {@linkplain BurningStorage#getPriority() priority}, then in the order they were queued. Those that
+ * do not fit in the budget are deferred to the next tick; and when the server is already running
+ * behind, only the first request is run.
+ * </p>
+ *
+ * <p>
+ * Storages of block entities should be scheduled through {@link BurningStorageCache}s, which are
+ * looked up again right before running: requests whose source or target is no longer loaded, or
+ * was removed, are dropped. Storages scheduled directly are kept, and used, as they are.
+ * </p>
+ *
+ * <pre>
+ * BurningTransferScheduler.of(level).schedule(fromCache, toCache, burning, context);
+ * </pre>
+ *
+ * <p>
+ * This class is not thread-safe, and must only be used on the server thread.
+ * </p>
+ */
+public final class BurningTransferScheduler {
+
+    /**
+     * The default time budget of every tick, in nanoseconds.
+     */
+    public static final long DEFAULT_BUDGET_NANOS = 2_000_000L;
+
+    private static final Map<ServerLevel, BurningTransferScheduler> INSTANCES = new MapMaker()
+            .weakKeys().makeMap();
+
+    private final ServerLevel level;
+
+    private final LinkedHashMap<Key, Request> pending;
+
+    private long budgetNanos;
+
+    private BurningTransferScheduler(ServerLevel level) {
+        this.level = level;
+        this.pending = new LinkedHashMap<>();
+        this.budgetNanos = DEFAULT_BUDGET_NANOS;
+    }
+
+    /**
+     * Returns the scheduler of the provided level.
+     *
+     * @param level must not be null
+     * @return a non-null instance
+     */
+    public static BurningTransferScheduler of(ServerLevel level) {
+        return INSTANCES.computeIfAbsent(level, BurningTransferScheduler::new);
+    }
+
+    /**
+     * Runs the queued requests of the provided level, if any, within budget.
+     * Called at the end of every level tick.
+     *
+     * @param level must not be null
+     */
+    @ApiStatus.Internal
+    public static void tick(ServerLevel level) {
+        var scheduler = INSTANCES.get(level);
+        if (scheduler != null) {
+            scheduler.run();
+        }
+    }
+
+    /**
+     * Returns the time budget of every tick.
+     *
+     * @return a non-negative long, in nanoseconds
+     */
+    public long getBudgetNanos() {
+        return this.budgetNanos;
+    }
+
+    /**
+     * Sets the time budget of every tick.
+     *
+     * @param budgetNanos a non-negative long, in nanoseconds
+     */
+    public void setBudgetNanos(long budgetNanos) {
+        this.budgetNanos = Math.max(0L, budgetNanos);
+    }
+
+    /**
+     * Returns the number of queued requests, after coalescing.
+     *
+     * @return a non-negative int
+     */
+    public int size() {
+        return this.pending.size();
+    }
+
+    /**
+     * Queues a transfer of up to the provided burning, or adds it to an already queued one.
+     *
+     * @param from    the source storage
+     * @param to      the target storage
+     * @param burning the maximum burning that may be moved
+     * @param context the {@link BurningContext} to use
+     */
+    public void schedule(BurningStorage from, BurningStorage to, Burning burning, BurningContext context) {
+        this.schedule(from, to, PackedBurning.of(burning, context), context);
+    }
+
+    /**
+     * Queues a transfer of up to the provided packed burning, or adds it to an already queued one.
+     *
+     * @param from    the source storage
+     * @param to      the target storage
+     * @param burning the maximum packed burning that may be moved
+     * @param context the {@link BurningContext} to use
+     */
+    public void schedule(BurningStorage from, BurningStorage to, long burning, BurningContext context) {
+        this.enqueue(from, to, burning, context);
+    }
+
+    /**
+     * Queues a transfer of up to the provided burning between the storages the provided caches
+     * find when it runs, or adds it to an already queued one.
+     *
+     * @param from    the lookup of the source storage
+     * @param to      the lookup of the target storage
+     * @param burning the maximum burning that may be moved
+     * @param context the {@link BurningContext} to use
+     */
+    public void schedule(BurningStorageCache from, BurningStorageCache to, Burning burning, BurningContext context) {
+        this.schedule(from, to, PackedBurning.of(burning, context), context);
+    }
+
+    /**
+     * Queues a transfer of up to the provided packed burning between the storages the provided caches
+     * find when it runs, or adds it to an already queued one.
+     *
+     * @param from    the lookup of the source storage
+     * @param to      the lookup of the target storage
+     * @param burning the maximum packed burning that may be moved
+     * @param context the {@link BurningContext} to use
+     */
+    public void schedule(BurningStorageCache from, BurningStorageCache to, long burning, BurningContext context) {
+        this.enqueue(from, to, burning, context);
+    }
+
+    /**
+     * Removes every queued request.
+     */
+    public void clear() {
+        this.pending.clear();
+    }
+
+    private void enqueue(Object from, Object to, long burning, BurningContext context) {
+        if (PackedBurning.isZero(burning)) {
+            return;
+        }
+        var request = this.pending.computeIfAbsent(
+                new Key(from, to, context, PackedBurning.getFuelId(burning)),
+                key -> new Request(PackedBurning.zero(burning)));
+        if (PackedBurning.getFixedTicks(burning) > PackedBurning.getFixedTicks(request.burning)) {
+            request.burning = burning;
+        }
+    }
+
+    private void run() {
+        if (this.pending.isEmpty() || Transaction.isOpen()) {
+            return;
+        }
+        var server = this.level.getServer();
+        long budget = server.getAverageTickTimeNanos() > server.tickRateManager().nanosecondsPerTick()
+                ? 0L
+                : this.budgetNanos;
+        long start = System.nanoTime();
+        var transfers = new ArrayList<Transfer>(this.pending.size());
+        for (var iterator = this.pending.entrySet().iterator(); iterator.hasNext();) {
+            var entry = iterator.next();
+            var from = resolve(entry.getKey().from());
+            var to = resolve(entry.getKey().to());
+            if (from == null || to == null) {
+                iterator.remove();
+            } else {
+                transfers.add(new Transfer(entry.getKey(), from, to, entry.getValue().burning));
+            }
+        }
+        if (transfers.isEmpty()) {
+            return;
+        }
+        transfers.sort((a, b) -> Integer.compare(b.to().getPriority(), a.to().getPriority()));
+        var iterator = transfers.iterator();
+        try (var transaction = Transaction.openOuter()) {
+            do {
+                var transfer = iterator.next();
+                BurningStorage.transfer(transfer.from(), transfer.to(), transfer.burning(),
+                        transfer.key().context(), transaction);
+                this.pending.remove(transfer.key());
+            } while (iterator.hasNext() && System.nanoTime() - start < budget);
+            transaction.commit();
+        }
+    }
+
+    private static @Nullable BurningStorage resolve(Object endpoint) {
+        return endpoint instanceof BurningStorageCache cache ? cache.find() : (BurningStorage) endpoint;
+    }
+
+    /**
+     * Either {@link BurningStorage}s or {@link BurningStorageCache}s, compared by identity.
+     */
+    private static record Key(Object from, Object to, BurningContext context, int fuelId) {
+
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof Key that
+                    && this.from == that.from
+                    && this.to == that.to
+                    && this.context == that.context
+                    && this.fuelId == that.fuelId;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(this.from);
+            result = 31 * result + System.identityHashCode(this.to);
+            result = 31 * result + System.identityHashCode(this.context);
+            return 31 * result + this.fuelId;
+        }
+    }
+
+    private static record Transfer(Key key, BurningStorage from, BurningStorage to, long burning) {
+    }
+
+    private static final class Request {
+
+        private long burning;
+
+        private Request(long burning) {
+            this.burning = burning;
+        }
+    }
+}
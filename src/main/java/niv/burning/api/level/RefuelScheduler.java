@@ -0,0 +1,187 @@
+package niv.burning.api.level;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import com.google.common.collect.MapMaker;
+
+import net.minecraft.server.level.ServerLevel;
+import niv.burning.api.BurningStorage;
+
+/**
+ * Books refuels of the storages of a level for the exact game tick they are due, as predicted by
+ * {@link BurningStorage#getTicksUntilEmpty()}, so that feeders do not need to check them every tick.
+ *
+ * <p>
+ * Due bookings run at the end of the level's tick, in due order. A callback usually refuels its
+ * storage, and books the next refuel:
+ *
+ * <pre>
+ * void refuel(BurningStorage storage) {
+ *     BurningStorage.transfer(feeder, storage, Burning.COAL.one(), context, null);
+ *     RefuelScheduler.of(level).book(storage, 20, this::refuel);
+ * }
+ * </pre>
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe, and must only be used on the server thread.
+ * </p>
+ */
+public final class RefuelScheduler {
+
+    private static final Map<ServerLevel, RefuelScheduler> INSTANCES = new MapMaker()
+            .weakKeys().makeMap();
+
+    private final ServerLevel level;
+
+    private final PriorityQueue<Booking> queue;
+
+    private long sequence;
+
+    private long lastRun;
+
+    private RefuelScheduler(ServerLevel level) {
+        this.level = level;
+        this.queue = new PriorityQueue<>(Comparator
+                .comparingLong((Booking booking) -> booking.dueTime)
+                .thenComparingLong(booking -> booking.sequence));
+        this.sequence = 0L;
+        this.lastRun = Long.MIN_VALUE;
+    }
+
+    /**
+     * Returns the scheduler of the provided level.
+     *
+     * @param level must not be null
+     * @return a non-null instance
+     */
+    public static RefuelScheduler of(ServerLevel level) {
+        return INSTANCES.computeIfAbsent(level, RefuelScheduler::new);
+    }
+
+    /**
+     * Runs the due bookings of the provided level, if any.
+     * Called at the end of every level tick.
+     *
+     * @param level must not be null
+     */
+    @ApiStatus.Internal
+    public static void tick(ServerLevel level) {
+        var scheduler = INSTANCES.get(level);
+        if (scheduler != null) {
+            scheduler.run();
+        }
+    }
+
+    /**
+     * Books a refuel of the provided storage {@code leadTicks} before it is predicted to be empty,
+     * or at the end of this tick if that is sooner.
+     *
+     * @param storage   the storage to refuel
+     * @param leadTicks how many ticks before the storage is empty the callback should run
+     * @param callback  called with {@code storage} when the booking is due
+     * @return the booking, or {@code null} if the storage cannot predict when it will be empty
+     */
+    public @Nullable Booking book(BurningStorage storage, int leadTicks, Consumer<BurningStorage> callback) {
+        int ticks = storage.getTicksUntilEmpty();
+        if (ticks < 0) {
+            return null;
+        }
+        return this.bookAt(this.level.getGameTime() + Math.max(0, ticks - Math.max(0, leadTicks)), storage, callback);
+    }
+
+    /**
+     * Books a callback for the provided storage at the provided game time.
+     *
+     * @param gameTime when the callback should run; if already past, it runs at the end of this tick,
+     *                 or of the next one if bookings already ran this tick
+     * @param storage  the storage to refuel
+     * @param callback called with {@code storage} when the booking is due
+     * @return the booking
+     */
+    public Booking bookAt(long gameTime, BurningStorage storage, Consumer<BurningStorage> callback) {
+        var booking = new Booking(Math.max(gameTime, this.lastRun + 1), this.sequence++, storage, callback);
+        this.queue.add(booking);
+        return booking;
+    }
+
+    /**
+     * Returns the number of pending bookings, including cancelled ones not yet due.
+     *
+     * @return a non-negative int
+     */
+    public int size() {
+        return this.queue.size();
+    }
+
+    private void run() {
+        long now = this.level.getGameTime();
+        this.lastRun = now;
+        Booking booking;
+        while ((booking = this.queue.peek()) != null && booking.dueTime <= now) {
+            this.queue.poll();
+            if (!booking.cancelled) {
+                booking.cancelled = true;
+                booking.callback.accept(booking.storage);
+            }
+        }
+    }
+
+    /**
+     * A pending refuel, which can be cancelled.
+     */
+    public static final class Booking {
+
+        private final long dueTime;
+
+        private final long sequence;
+
+        private final BurningStorage storage;
+
+        private final Consumer<BurningStorage> callback;
+
+        private boolean cancelled;
+
+        private Booking(long dueTime, long sequence, BurningStorage storage, Consumer<BurningStorage> callback) {
+            this.dueTime = dueTime;
+            this.sequence = sequence;
+            this.storage = storage;
+            this.callback = callback;
+            this.cancelled = false;
+        }
+
+        /**
+         * @return the game time this booking is due at
+         */
+        public long getDueTime() {
+            return this.dueTime;
+        }
+
+        /**
+         * @return the storage to refuel
+         */
+        public BurningStorage getStorage() {
+            return this.storage;
+        }
+
+        /**
+         * @return whether this booking was cancelled, or already ran
+         */
+        public boolean isDone() {
+            return this.cancelled;
+        }
+
+        /**
+         * Cancels this booking, if it has not run yet.
+         */
+        public void cancel() {
+            this.cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package niv.burning.api.network;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.Item;
+import niv.burning.api.Burning;
+import niv.burning.api.BurningContext;
+import niv.burning.api.BurningDistribution;
+import niv.burning.api.BurningState;
+import niv.burning.api.BurningStorage;
+import niv.burning.api.PackedBurning;
+import niv.burning.api.level.BurningStorageCache;
+
+/**
+ * A group of connected nodes, e.g. fuel pipes, sharing a single pooled burning buffer.
+ *
+ * <p>
+ * Inserting into and extracting from a network costs the same no matter how many nodes it has,
+ * and its capacity grows with its nodes: {@link #NODE_CAPACITY} ticks each. A network left holding
+ * more than its capacity, after losing nodes, keeps all of it, and accepts no more until it drains
+ * below its capacity.
+ * </p>
+ *
+ * <p>
+ * The endpoints of a network are all the {@link BurningStorage} found through
+ * {@link BurningStorage#SIDED} next to its nodes, but not nodes themselves, and are
+ * fed through {@link #push(long, BurningContext, BurningDistribution, TransactionContext)}.
+ * </p>
+ *
+ * <p>
+ * Networks are created, merged, and split by {@link BurningNetworks}.
+ * </p>
+ */
+public final class BurningNetwork
+        extends SnapshotParticipant<BurningNetwork.Snapshot>
+        implements BurningStorage {
+
+    /**
+     * How many ticks of burning each node adds to the capacity of its network.
+     */
+    public static final int NODE_CAPACITY = 1600;
+
+    public static record Snapshot(long fixedTicks, Item fuel) {
+    }
+
+    private final BurningNetworks networks;
+
+    final LongOpenHashSet nodes;
+
+    long fixedTicks;
+
+    Item fuel;
+
+    private @Nullable List<BurningStorageCache> endpoints;
+
+    private BurningStorage[] found;
+
+    private @Nullable List<BurningStorage> storages;
+
+    private volatile BurningState published;
+
+    BurningNetwork(BurningNetworks networks) {
+        this.networks = networks;
+        this.nodes = new LongOpenHashSet();
+        this.fixedTicks = 0L;
+        this.fuel = Burning.MIN_VALUE.getFuel();
+        this.endpoints = null;
+        this.found = new BurningStorage[0];
+        this.storages = null;
+        this.published = BurningState.EMPTY;
+    }
+
+    /**
+     * Returns the level this network is in.
+     *
+     * @return a non-null {@link ServerLevel}
+     */
+    public ServerLevel getLevel() {
+        return this.networks.level;
+    }
+
+    /**
+     * Returns the positions of this network's nodes, as {@link BlockPos#asLong()}.
+     *
+     * @return an unmodifiable view
+     */
+    public LongSet getNodes() {
+        return LongSets.unmodifiable(this.nodes);
+    }
+
+    /**
+     * Returns the number of nodes of this network.
+     *
+     * @return a non-negative int
+     */
+    public int size() {
+        return this.nodes.size();
+    }
+
+    /**
+     * Returns the pooled amount, in fixed-point ticks, which can exceed the capacity.
+     *
+     * @return a non-negative long
+     * @see PackedBurning#ONE_TICK
+     */
+    public long getFixedTicks() {
+        return this.fixedTicks;
+    }
+
+    /**
+     * Returns how much this network can pool, in fixed-point ticks.
+     *
+     * @return a non-negative long
+     * @see PackedBurning#ONE_TICK
+     */
+    public long getCapacity() {
+        return Math.min(PackedBurning.MAX_FIXED_TICKS,
+                ((long) this.nodes.size() * NODE_CAPACITY) << PackedBurning.FRACTION_BITS);
+    }
+
+    /**
+     * Returns the storages next to this network's nodes, resolved through {@link BurningStorage#SIDED}.
+     * <p>
+     * The list is only rebuilt when one of the storages found next to the nodes changes.
+     * </p>
+     *
+     * @return a non-null, unmodifiable list, without duplicates
+     */
+    public List<BurningStorage> getEndpoints() {
+        if (this.endpoints == null) {
+            this.endpoints = this.findEndpoints();
+            this.found = new BurningStorage[this.endpoints.size()];
+            this.storages = null;
+        }
+        boolean changed = this.storages == null;
+        for (int i = 0; i < this.found.length; i++) {
+            var storage = this.endpoints.get(i).find();
+            if (storage instanceof BurningNetwork) {
+                storage = null;
+            }
+            if (storage != this.found[i]) {
+                this.found[i] = storage;
+                changed = true;
+            }
+        }
+        if (changed) {
+            var unique = new ObjectLinkedOpenHashSet<BurningStorage>(this.found.length);
+            for (var storage : this.found) {
+                if (storage != null) {
+                    unique.add(storage);
+                }
+            }
+            this.storages = List.copyOf(unique);
+        }
+        return this.storages;
+    }
+
+    /**
+     * Distributes up to the provided burning from the pool into this network's endpoints,
+     * with a single extraction from the pool.
+     *
+     * @param burning      the maximum packed burning that may be pushed, in total
+     * @param context      the {@link BurningContext} to use
+     * @param distribution how to split the burning among the endpoints
+     * @param transaction  the transaction this push is part of, or {@code null}
+     * @return the total packed amount of burning that was pushed
+     * @see BurningStorage#transferMany(BurningStorage, List, long, BurningContext, BurningDistribution, TransactionContext)
+     */
+    public long push(long burning, BurningContext context, BurningDistribution distribution,
+            @Nullable TransactionContext transaction) {
+        return BurningStorage.transferMany(this, this.getEndpoints(), burning, context, distribution, transaction);
+    }
+
+    void invalidateEndpoints() {
+        this.endpoints = null;
+    }
+
+    void publish() {
+        this.published = BurningState.of(this.published, this.fuel, ticks(this.fixedTicks),
+                ticks(this.getCapacity()), this.fixedTicks > 0L);
+    }
+
+    private static int ticks(long fixedTicks) {
+        return (int) Math.min(Integer.MAX_VALUE, fixedTicks >>> PackedBurning.FRACTION_BITS);
+    }
+
+    private List<BurningStorageCache> findEndpoints() {
+        var result = new ArrayList<BurningStorageCache>();
+        var iterator = this.nodes.iterator();
+        while (iterator.hasNext()) {
+            long node = iterator.nextLong();
+            for (var direction : Direction.values()) {
+                long neighbor = BlockPos.offset(node, direction);
+                if (!this.nodes.contains(neighbor)) {
+                    result.add(BurningStorageCache.create(this.networks.level, BlockPos.of(neighbor),
+                            direction.getOpposite()));
+                }
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    // From {@link SnapshotParticipant}
+
+    @Override
+    protected Snapshot createSnapshot() {
+        return new Snapshot(this.fixedTicks, this.fuel);
+    }
+
+    @Override
+    protected void readSnapshot(Snapshot snapshot) {
+        this.fixedTicks = snapshot.fixedTicks();
+        this.fuel = snapshot.fuel();
+    }
+
+    @Override
+    protected void onFinalCommit() {
+        this.publish();
+        this.networks.pools.setDirty();
+    }
+
+    // From {@link BurningStorage}
+
+    @Override
+    public Burning insert(Burning burning, BurningContext context, TransactionContext transaction) {
+        return PackedBurning.toBurning(this.insert(PackedBurning.of(burning, context), context, transaction), burning, context);
+    }
+
+    @Override
+    public long insert(long burning, BurningContext context, TransactionContext transaction) {
+        long value = this.simulateInsert(burning, context, transaction);
+        if (!PackedBurning.isZero(value)) {
+            updateSnapshots(transaction);
+            this.fixedTicks += PackedBurning.getFixedTicks(value);
+            this.fuel = PackedBurning.getFuel(value);
+        }
+        return value;
+    }
+
+    @Override
+    public long simulateInsert(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        return PackedBurning.withFixedTicks(burning,
+                Math.min(Math.max(0L, this.getCapacity() - this.fixedTicks), PackedBurning.getFixedTicks(burning)));
+    }
+
+    @Override
+    public Burning extract(Burning burning, BurningContext context, TransactionContext transaction) {
+        return PackedBurning.toBurning(this.extract(PackedBurning.of(burning, context), context, transaction), burning, context);
+    }
+
+    @Override
+    public long extract(long burning, BurningContext context, TransactionContext transaction) {
+        long value = this.simulateExtract(burning, context, transaction);
+        if (!PackedBurning.isZero(value)) {
+            updateSnapshots(transaction);
+            this.fixedTicks -= PackedBurning.getFixedTicks(value);
+        }
+        return value;
+    }
+
+    @Override
+    public long simulateExtract(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        return PackedBurning.withFixedTicks(burning, Math.min(this.fixedTicks, PackedBurning.getFixedTicks(burning)));
+    }
+
+    @Override
+    public Burning getBurning(BurningContext context) {
+        return PackedBurning.toBurning(this.getPackedBurning(context), context);
+    }
+
+    @Override
+    public long getPackedBurning(BurningContext context) {
+        return PackedBurning.fit(this.fuel, this.fixedTicks, context);
+    }
+
+    @Override
+    public boolean isBurning() {
+        return this.fixedTicks > 0L;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The state is published on final commit and whenever this network's nodes change,
+     * with the network's capacity as its maximum, which its ticks can exceed.
+     * </p>
+     */
+    @Override
+    public BurningState getPublishedState() {
+        return this.published;
+    }
+}
@@ -0,0 +1,106 @@
+package niv.burning.api.network;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraft.world.level.saveddata.SavedDataType;
+import niv.burning.impl.BurningImpl;
+
+/**
+ * The saved pools of a level's {@link BurningNetwork}s, as a share per node.
+ *
+ * <p>
+ * Nodes not part of any network, because they were unloaded or because the level was just loaded,
+ * keep their share here until they are added again. Nodes part of a network are saved with an
+ * equal share of its pool, so that the level can be saved at any time.
+ * </p>
+ */
+final class BurningNetworkPools extends SavedData {
+
+    private static final Codec<Share> SHARE_CODEC = RecordCodecBuilder.create(instance -> instance
+            .group(
+                    Codec.LONG.fieldOf("pos").forGetter(Share::pos),
+                    BuiltInRegistries.ITEM.byNameCodec().fieldOf("fuel").forGetter(Share::fuel),
+                    Codec.LONG.fieldOf("fixed_ticks").forGetter(Share::fixedTicks))
+            .apply(instance, Share::new));
+
+    private static final Codec<BurningNetworkPools> CODEC = SHARE_CODEC.listOf()
+            .xmap(BurningNetworkPools::new, BurningNetworkPools::shares);
+
+    private static final SavedDataType<BurningNetworkPools> TYPE = new SavedDataType<>(
+            BurningImpl.MOD_ID + "_network_pools", BurningNetworkPools::new, CODEC, null);
+
+    private final Long2ObjectOpenHashMap<Share> detached;
+
+    private @Nullable BurningNetworks networks;
+
+    private BurningNetworkPools() {
+        this.detached = new Long2ObjectOpenHashMap<>();
+        this.networks = null;
+    }
+
+    private BurningNetworkPools(List<Share> shares) {
+        this();
+        for (var share : shares) {
+            this.detached.put(share.pos(), share);
+        }
+    }
+
+    static BurningNetworkPools of(ServerLevel level, BurningNetworks networks) {
+        var result = level.getDataStorage().computeIfAbsent(TYPE);
+        result.networks = networks;
+        return result;
+    }
+
+    void detach(long node, Item fuel, long fixedTicks) {
+        if (fixedTicks > 0L) {
+            this.detached.put(node, new Share(node, fuel, fixedTicks));
+        } else {
+            this.detached.remove(node);
+        }
+        this.setDirty();
+    }
+
+    @Nullable
+    Share attach(long node) {
+        var share = this.detached.remove(node);
+        if (share != null) {
+            this.setDirty();
+        }
+        return share;
+    }
+
+    private List<Share> shares() {
+        var result = new ArrayList<Share>(this.detached.values());
+        if (this.networks != null) {
+            for (var network : new ReferenceOpenHashSet<>(this.networks.networks.values())) {
+                long share = network.fixedTicks / network.size();
+                // the first node also takes the remainder of the division
+                long fixedTicks = network.fixedTicks - share * (network.size() - 1);
+                var iterator = network.nodes.iterator();
+                while (iterator.hasNext()) {
+                    long node = iterator.nextLong();
+                    if (fixedTicks > 0L) {
+                        result.add(new Share(node, network.fuel, fixedTicks));
+                    }
+                    fixedTicks = share;
+                }
+            }
+        }
+        return result;
+    }
+
+    static record Share(long pos, Item fuel, long fixedTicks) {
+    }
+}
@@ -0,0 +1,278 @@
+package niv.burning.api.network;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.google.common.collect.MapMaker;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import niv.burning.api.BurningContext;
+import niv.burning.api.BurningDistribution;
+import niv.burning.api.PackedBurning;
+
+/**
+ * The {@link BurningNetwork}s of a level, indexed by node position.
+ *
+ * <p>
+ * Mods providing nodes, e.g. fuel pipes, should call {@link #addNode(BlockPos)} when they are
+ * placed or loaded, {@link #removeNode(BlockPos)} when they are broken,
+ * {@link #unloadNode(BlockPos)} when they are unloaded, and {@link #neighborChanged(BlockPos)}
+ * when a block next to them changes. Networks are updated incrementally: adding a node joins
+ * or merges the adjacent networks, and removing one splits its network only if it actually
+ * disconnects it.
+ * </p>
+ *
+ * <p>
+ * To expose a node's network to other blocks:
+ *
+ * <pre>
+ * BurningStorage.SIDED.registerForBlocks(
+ *         (level, pos, state, blockEntity, side) -> level instanceof ServerLevel serverLevel
+ *                 ? BurningNetworks.of(serverLevel).getNetwork(pos)
+ *                 : null,
+ *         MY_PIPE_BLOCK);
+ * </pre>
+ * </p>
+ *
+ * <p>
+ * Pools are saved with the level as a share per node, and unloading a node keeps its share
+ * aside until it is loaded again. Breaking a node leaves its network's pool to the remaining nodes,
+ * or spills it into the endpoints next to it if it was the last one, losing what does not fit.
+ * None of the methods of this class may be called while a transaction is open.
+ * </p>
+ */
+public final class BurningNetworks {
+
+    private static final Map<ServerLevel, BurningNetworks> INSTANCES = new MapMaker()
+            .weakKeys().makeMap();
+
+    final ServerLevel level;
+
+    final Long2ObjectOpenHashMap<BurningNetwork> networks;
+
+    final BurningNetworkPools pools;
+
+    private BurningNetworks(ServerLevel level) {
+        this.level = level;
+        this.networks = new Long2ObjectOpenHashMap<>();
+        this.pools = BurningNetworkPools.of(level, this);
+    }
+
+    /**
+     * Returns the networks of the provided level.
+     *
+     * @param level must not be null
+     * @return a non-null instance
+     */
+    public static BurningNetworks of(ServerLevel level) {
+        return INSTANCES.computeIfAbsent(level, BurningNetworks::new);
+    }
+
+    /**
+     * Returns the network the node at the provided position belongs to.
+     *
+     * @param pos must not be null
+     * @return a network, or {@code null} if there is no node at {@code pos}
+     */
+    public @Nullable BurningNetwork getNetwork(BlockPos pos) {
+        return this.networks.get(pos.asLong());
+    }
+
+    /**
+     * Returns every network of this level.
+     *
+     * @return a non-null, unmodifiable collection
+     */
+    public Collection<BurningNetwork> getNetworks() {
+        return Collections.unmodifiableCollection(new ReferenceOpenHashSet<>(this.networks.values()));
+    }
+
+    /**
+     * Adds a node at the provided position, joining, or merging, the adjacent networks.
+     * <p>
+     * If the node was unloaded with a share of its network's pool, the share joins the pool again.
+     * </p>
+     *
+     * @param pos must not be null
+     * @return the network the node belongs to
+     */
+    public BurningNetwork addNode(BlockPos pos) {
+        long node = pos.asLong();
+        var network = this.networks.get(node);
+        if (network != null) {
+            return network;
+        }
+        for (var direction : Direction.values()) {
+            var adjacent = this.networks.get(BlockPos.offset(node, direction));
+            if (adjacent != null && adjacent != network) {
+                network = network == null ? adjacent : this.merge(network, adjacent);
+            }
+        }
+        if (network == null) {
+            network = new BurningNetwork(this);
+        }
+        var share = this.pools.attach(node);
+        if (share != null) {
+            if (network.fixedTicks == 0L) {
+                network.fuel = share.fuel();
+            }
+            network.fixedTicks += share.fixedTicks();
+        }
+        network.nodes.add(node);
+        network.invalidateEndpoints();
+        network.publish();
+        this.networks.put(node, network);
+        return network;
+    }
+
+    /**
+     * Removes the node at the provided position, splitting its network if it gets disconnected.
+     * <p>
+     * Each resulting network keeps a share of the pool proportional to its number of nodes,
+     * even beyond its capacity. If the node was the last one of its network, the pool is spilled
+     * into the endpoints next to it instead, and whatever does not fit is lost.
+     * </p>
+     *
+     * @param pos must not be null
+     */
+    public void removeNode(BlockPos pos) {
+        long node = pos.asLong();
+        var network = this.networks.get(node);
+        if (network == null) {
+            // an unloaded node can only be broken once loaded again, so its share can go
+            this.pools.attach(node);
+            return;
+        }
+        if (network.size() == 1 && network.fixedTicks > 0L) {
+            network.push(PackedBurning.pack(network.fuel, network.fixedTicks), BurningContext.of(this.level),
+                    BurningDistribution.EVEN, null);
+        }
+        this.detach(node, network);
+    }
+
+    /**
+     * Removes the node at the provided position, as {@link #removeNode(BlockPos)} does, but keeps
+     * an equal share of its network's pool aside, saved with the level, until the node is
+     * {@linkplain #addNode(BlockPos) added} again.
+     *
+     * @param pos must not be null
+     */
+    public void unloadNode(BlockPos pos) {
+        long node = pos.asLong();
+        var network = this.networks.get(node);
+        if (network != null) {
+            long share = network.fixedTicks / network.size();
+            this.pools.detach(node, network.fuel, share);
+            network.fixedTicks -= share;
+            this.detach(node, network);
+        }
+    }
+
+    /**
+     * Signals that the block at the provided position changed, so that the networks
+     * of the adjacent nodes look their endpoints up again.
+     *
+     * @param pos must not be null
+     */
+    public void neighborChanged(BlockPos pos) {
+        long changed = pos.asLong();
+        for (var direction : Direction.values()) {
+            var network = this.networks.get(BlockPos.offset(changed, direction));
+            if (network != null) {
+                network.invalidateEndpoints();
+            }
+        }
+    }
+
+    private void detach(long node, BurningNetwork network) {
+        this.networks.remove(node);
+        this.pools.setDirty();
+        network.nodes.remove(node);
+        network.invalidateEndpoints();
+        if (network.nodes.isEmpty()) {
+            network.fixedTicks = 0L;
+            network.publish();
+            return;
+        }
+
+        var components = new ArrayList<LongOpenHashSet>();
+        var visited = new LongOpenHashSet();
+        for (var direction : Direction.values()) {
+            long start = BlockPos.offset(node, direction);
+            if (network.nodes.contains(start) && !visited.contains(start)) {
+                var component = this.collect(network, start);
+                visited.addAll(component);
+                components.add(component);
+                if (component.size() == network.nodes.size()) {
+                    network.publish();
+                    return;
+                }
+            }
+        }
+
+        components.sort((a, b) -> Integer.compare(b.size(), a.size()));
+        long pool = network.fixedTicks;
+        int total = network.nodes.size();
+        for (int i = 1; i < components.size(); i++) {
+            var component = components.get(i);
+            var split = new BurningNetwork(this);
+            split.nodes.addAll(component);
+            split.fixedTicks = (long) ((double) pool * component.size() / total);
+            split.fuel = network.fuel;
+            split.publish();
+            network.fixedTicks -= split.fixedTicks;
+            network.nodes.removeAll(component);
+            var iterator = component.iterator();
+            while (iterator.hasNext()) {
+                this.networks.put(iterator.nextLong(), split);
+            }
+        }
+        network.publish();
+    }
+
+    private BurningNetwork merge(BurningNetwork a, BurningNetwork b) {
+        var into = a.size() >= b.size() ? a : b;
+        var from = into == a ? b : a;
+        var iterator = from.nodes.iterator();
+        while (iterator.hasNext()) {
+            this.networks.put(iterator.nextLong(), into);
+        }
+        into.nodes.addAll(from.nodes);
+        if (into.fixedTicks == 0L) {
+            into.fuel = from.fuel;
+        }
+        into.fixedTicks += from.fixedTicks;
+        into.publish();
+        into.invalidateEndpoints();
+        from.nodes.clear();
+        from.fixedTicks = 0L;
+        return into;
+    }
+
+    private LongOpenHashSet collect(BurningNetwork network, long start) {
+        var component = new LongOpenHashSet();
+        var queue = new LongArrayFIFOQueue();
+        component.add(start);
+        queue.enqueue(start);
+        while (!queue.isEmpty()) {
+            long node = queue.dequeueLong();
+            for (var direction : Direction.values()) {
+                long next = BlockPos.offset(node, direction);
+                if (network.nodes.contains(next) && component.add(next)) {
+                    queue.enqueue(next);
+                }
+            }
+        }
+        return component;
+    }
+}
@@ -1,14 +1,25 @@
 package niv.burning.impl;
 
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.jetbrains.annotations.Nullable;
+
 import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
 import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.block.entity.AbstractFurnaceBlockEntity;
+import net.minecraft.world.level.block.entity.FuelValues;
 import niv.burning.api.Burning;
 import niv.burning.api.BurningContext;
+import niv.burning.api.BurningState;
 import niv.burning.api.BurningStorage;
 import niv.burning.api.BurningStorageHelper;
+import niv.burning.api.BurningThreshold;
+import niv.burning.api.BurningThresholdListener;
+import niv.burning.api.PackedBurning;
+import niv.burning.api.base.BurningThresholdTracker;
 import niv.burning.api.base.SimpleBurningStorage;
 import niv.burning.api.base.SimpleBurningStorage.Snapshot;
 
@@ -16,10 +27,47 @@ public class AbstractFurnaceBurningStorage
         extends SnapshotParticipant<SimpleBurningStorage.Snapshot>
         implements BurningStorage {
 
+    private static final Method GET_BURN_DURATION = Arrays
+            .stream(AbstractFurnaceBlockEntity.class.getDeclaredMethods())
+            .filter(method -> method.getReturnType() == int.class)
+            .filter(method -> Arrays.equals(method.getParameterTypes(), new Class<?>[] { FuelValues.class, ItemStack.class }))
+            .findFirst().orElse(null);
+
+    /**
+     * Whether a furnace class overrides {@link AbstractFurnaceBlockEntity#getBurnDuration}, in which case
+     * burn durations must go through it, and thus through an {@link ItemStack}.
+     */
+    private static final ClassValue<Boolean> CUSTOM_BURN_DURATION = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            if (GET_BURN_DURATION == null) {
+                return Boolean.TRUE;
+            }
+            for (var clazz = type; clazz != null && clazz != AbstractFurnaceBlockEntity.class; clazz = clazz.getSuperclass()) {
+                try {
+                    clazz.getDeclaredMethod(GET_BURN_DURATION.getName(), GET_BURN_DURATION.getParameterTypes());
+                    return Boolean.TRUE;
+                } catch (NoSuchMethodException ex) {
+                    // keep looking up the hierarchy
+                }
+            }
+            return Boolean.FALSE;
+        }
+    };
+
     private final AbstractFurnaceBlockEntity target;
 
+    private final boolean customBurnDuration;
+
+    private BurningThresholdTracker thresholds;
+
+    private volatile BurningState published;
+
     public AbstractFurnaceBurningStorage(AbstractFurnaceBlockEntity target) {
         this.target = target;
+        this.customBurnDuration = CUSTOM_BURN_DURATION.get(target.getClass()).booleanValue();
+        this.published = BurningState.EMPTY;
+        this.publish();
     }
 
     private Burning getZero() {
@@ -31,35 +79,79 @@ public class AbstractFurnaceBurningStorage
         this.target.burning_setFuel(zero.getFuel());
     }
 
+    private int getBurnDuration(Item fuel, BurningContext context) {
+        if (this.customBurnDuration || context.isComponentSensitive()) {
+            return this.target.getBurnDuration(new ForwardingFuelValues(context), new ItemStack(fuel));
+        } else {
+            return context.burnDuration(fuel);
+        }
+    }
+
     @Override
     public Burning insert(Burning burning, BurningContext context, TransactionContext transaction) {
-        context = new Context(this.target, context);
-        int fuelTime = burning.getBurnDuration(context);
-        int value = Math.min(
-                Math.max(this.target.litTotalTime, fuelTime) - this.target.litTimeRemaining,
-                burning.getValue(context).intValue());
+        return PackedBurning.toBurning(this.insert(PackedBurning.of(burning, context), context, transaction), burning, context);
+    }
+
+    @Override
+    public long insert(long burning, BurningContext context, TransactionContext transaction) {
+        var fuel = PackedBurning.getFuel(burning);
+        int duration = context.burnDuration(fuel);
+        int fuelTime = this.getBurnDuration(fuel, context);
+        int value = this.insertable(burning, duration, fuelTime);
         updateSnapshots(transaction);
         this.target.litTimeRemaining += value;
         if ((this.target.litTotalTime > fuelTime && this.target.litTimeRemaining <= fuelTime)
                 || this.target.litTimeRemaining > this.target.litTotalTime) {
             this.target.litTotalTime = fuelTime;
-            setZero(burning);
+            this.target.burning_setFuel(fuel);
         }
-        return burning.withValue(value, context);
+        return PackedBurning.withTicks(burning, value, fuelTime, duration);
+    }
+
+    @Override
+    public long simulateInsert(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        var fuel = PackedBurning.getFuel(burning);
+        int duration = context.burnDuration(fuel);
+        int fuelTime = this.getBurnDuration(fuel, context);
+        return PackedBurning.withTicks(burning, this.insertable(burning, duration, fuelTime), fuelTime, duration);
+    }
+
+    private int insertable(long burning, int duration, int fuelTime) {
+        return Math.min(
+                Math.max(this.target.litTotalTime, fuelTime) - this.target.litTimeRemaining,
+                PackedBurning.getTicks(burning, duration, fuelTime));
     }
 
     @Override
     public Burning extract(Burning burning, BurningContext context, TransactionContext transaction) {
-        context = new Context(this.target, context);
-        int fuelTime = burning.getBurnDuration(context);
-        int value = Math.min(this.target.litTimeRemaining, burning.getValue(context).intValue());
+        return PackedBurning.toBurning(this.extract(PackedBurning.of(burning, context), context, transaction), burning, context);
+    }
+
+    @Override
+    public long extract(long burning, BurningContext context, TransactionContext transaction) {
+        var fuel = PackedBurning.getFuel(burning);
+        int duration = context.burnDuration(fuel);
+        int fuelTime = this.getBurnDuration(fuel, context);
+        int value = this.extractable(burning, duration, fuelTime);
         updateSnapshots(transaction);
         this.target.litTimeRemaining -= value;
         if (this.target.litTotalTime > fuelTime && this.target.litTimeRemaining <= fuelTime) {
             this.target.litTotalTime = fuelTime;
-            this.setZero(burning);
+            this.target.burning_setFuel(fuel);
         }
-        return burning.withValue(value, context);
+        return PackedBurning.withTicks(burning, value, fuelTime, duration);
+    }
+
+    @Override
+    public long simulateExtract(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        var fuel = PackedBurning.getFuel(burning);
+        int duration = context.burnDuration(fuel);
+        int fuelTime = this.getBurnDuration(fuel, context);
+        return PackedBurning.withTicks(burning, this.extractable(burning, duration, fuelTime), fuelTime, duration);
+    }
+
+    private int extractable(long burning, int duration, int fuelTime) {
+        return Math.min(this.target.litTimeRemaining, PackedBurning.getTicks(burning, duration, fuelTime));
     }
 
     @Override
@@ -68,6 +160,15 @@ public class AbstractFurnaceBurningStorage
         return this.getZero().withValue(this.target.litTimeRemaining, context);
     }
 
+    @Override
+    public long getPackedBurning(BurningContext context) {
+        var fuel = this.getZero().getFuel();
+        int duration = context.burnDuration(fuel);
+        int fuelTime = this.getBurnDuration(fuel, context);
+        return PackedBurning.withTicks(PackedBurning.zero(fuel),
+                Math.min(this.target.litTimeRemaining, fuelTime), fuelTime, duration);
+    }
+
     @Override
     public boolean isBurning() {
         return this.target.litTimeRemaining > 0;
@@ -86,12 +187,69 @@ public class AbstractFurnaceBurningStorage
         this.target.litTimeRemaining = snapshot.currentBurning();
         this.target.litTotalTime = snapshot.maxBurning();
         this.setZero(snapshot.zero());
+        this.publish();
     }
 
     @Override
     protected void onFinalCommit() {
         BurningStorageHelper.tryUpdateLitProperty(this.target, this);
         this.target.setChanged();
+        this.updateThresholds();
+    }
+
+    @Override
+    public int getConsumptionRate() {
+        return 1;
+    }
+
+    @Override
+    public int getTicksUntilEmpty() {
+        return Math.max(0, this.target.litTimeRemaining);
+    }
+
+    @Override
+    public boolean subscribe(BurningThresholdListener listener) {
+        if (this.thresholds == null) {
+            this.thresholds = new BurningThresholdTracker(this, this::isReached);
+        }
+        return this.thresholds.subscribe(listener);
+    }
+
+    @Override
+    public void unsubscribe(BurningThresholdListener listener) {
+        if (this.thresholds != null) {
+            this.thresholds.unsubscribe(listener);
+        }
+    }
+
+    @Override
+    public BurningState getPublishedState() {
+        return this.published;
+    }
+
+    /**
+     * Publishes the current state of the furnace, and notifies the subscribed listeners of any
+     * threshold crossed by the furnace since the last call.
+     * Called at the end of every furnace tick, and on final commit.
+     */
+    public void updateThresholds() {
+        this.publish();
+        if (this.thresholds != null) {
+            this.thresholds.update();
+        }
+    }
+
+    private void publish() {
+        this.published = BurningState.of(this.published, this.getZero().getFuel(),
+                this.target.litTimeRemaining, this.target.litTotalTime, this.isBurning());
+    }
+
+    private boolean isReached(BurningThreshold threshold) {
+        return switch (threshold) {
+            case EMPTY -> this.target.litTimeRemaining <= 0;
+            case FULL -> this.target.litTotalTime > 0 && this.target.litTimeRemaining >= this.target.litTotalTime;
+            case LIT -> this.isBurning();
+        };
     }
 
     protected final class Context implements BurningContext {
@@ -107,7 +265,7 @@ public class AbstractFurnaceBurningStorage
 
         @Override
         public boolean isFuel(Item item) {
-            return this.source.isFuel(new ItemStack(item));
+            return this.source.isFuel(item);
         }
 
         @Override
@@ -117,12 +275,19 @@ public class AbstractFurnaceBurningStorage
 
         @Override
         public int burnDuration(Item item) {
-            return this.target.getBurnDuration(new ForwardingFuelValues(this.source), new ItemStack(item));
+            return AbstractFurnaceBurningStorage.this.getBurnDuration(item, this.source);
         }
 
         @Override
         public int burnDuration(ItemStack itemStack) {
-            return this.target.getBurnDuration(new ForwardingFuelValues(this.source), itemStack);
+            return customBurnDuration
+                    ? this.target.getBurnDuration(new ForwardingFuelValues(this.source), itemStack)
+                    : this.source.burnDuration(itemStack);
+        }
+
+        @Override
+        public boolean isComponentSensitive() {
+            return this.source.isComponentSensitive();
         }
     }
 }
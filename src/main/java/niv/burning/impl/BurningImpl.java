@@ -4,8 +4,15 @@ import org.jetbrains.annotations.ApiStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerBlockEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.event.registry.DynamicRegistries;
+import niv.burning.api.level.BurningJournal;
+import niv.burning.api.level.BurningStorageIndex;
+import niv.burning.api.level.BurningTransferScheduler;
+import niv.burning.api.level.RefuelScheduler;
 
 @ApiStatus.Internal
 public final class BurningImpl {
@@ -24,6 +31,15 @@ public final class BurningImpl {
         BurningTags.initialize();
 
         ServerLifecycleEvents.SERVER_STARTING.register(new BurningRegistrar());
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register(
+                (server, resourceManager, success) -> CachingBurningContext.reload(server));
+        ServerLifecycleEvents.SERVER_STOPPED.register(CachingBurningContext::discard);
+        ServerTickEvents.END_WORLD_TICK.register(BurningTransferScheduler::tick);
+        ServerTickEvents.END_WORLD_TICK.register(RefuelScheduler::tick);
+        ServerTickEvents.END_WORLD_TICK.register(BurningJournal::tick);
+        ServerBlockEntityEvents.BLOCK_ENTITY_LOAD.register(BurningStorageIndex::onLoad);
+        ServerChunkEvents.CHUNK_LOAD.register(BurningJournal::onChunkLoad);
+        ServerBlockEntityEvents.BLOCK_ENTITY_UNLOAD.register(BurningStorageIndex::onUnload);
         DynamicRegistries.register(DynamicBurningStorageProvider.REGISTRY, DynamicBurningStorageProvider.CODEC);
     }
 
@@ -28,6 +28,7 @@ public final class BurningRegistrar implements ServerStarting {
     public void onServerStarting(MinecraftServer server) {
         registerAbstractFurnaceBurningStorages(server.registryAccess());
         registerDynamicBurningStorages(server.registryAccess());
+        CachingBurningContext.reload(server);
     }
 
     private void registerAbstractFurnaceBurningStorages(RegistryAccess registries) {
@@ -0,0 +1,174 @@
+package niv.burning.impl;
+
+import java.util.Map;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import com.google.common.collect.MapMaker;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.FuelValues;
+import niv.burning.api.Burning;
+import niv.burning.api.BurningContext;
+import niv.burning.api.FuelLadder;
+
+/**
+ * A {@link BurningContext} that snapshots every fuel's burn duration of a server into a flat
+ * array indexed by the item's raw registry id, so that every lookup is a single array load.
+ *
+ * <p>
+ * If the server's {@link FuelValues} are component sensitive, {@link ItemStack} based lookups
+ * go through a {@link ComponentCachingBurningContext} instead.
+ * </p>
+ *
+ * <p>
+ * One instance is shared per server, built when the server starts and rebuilt whenever its
+ * data packs are reloaded. The burn durations, the {@link FuelLadder} and the component cache
+ * are swapped together, with a single volatile write, so that readers never mix two reloads.
+ * </p>
+ */
+public final class CachingBurningContext implements BurningContext {
+
+    private static final Map<MinecraftServer, CachingBurningContext> INSTANCES = new MapMaker()
+            .weakKeys().makeMap();
+
+    private static volatile int generation = 0;
+
+    private volatile Tables tables;
+
+    CachingBurningContext(FuelValues values) {
+        this.tables = Tables.of(values);
+    }
+
+    /**
+     * Returns the context shared by the provided server.
+     *
+     * @param server must not be null
+     * @return a non-null instance
+     */
+    public static CachingBurningContext of(MinecraftServer server) {
+        return INSTANCES.computeIfAbsent(server, key -> new CachingBurningContext(key.fuelValues()));
+    }
+
+    /**
+     * Returns the context shared by the server of the provided level, or a
+     * {@link FuelValuesBurningContext} if the level has no server.
+     *
+     * @param level must not be null
+     * @return a non-null instance
+     */
+    public static BurningContext of(Level level) {
+        var server = level.getServer();
+        return server == null ? new FuelValuesBurningContext(level.fuelValues()) : of(server);
+    }
+
+    /**
+     * Returns a counter incremented every time any server's fuels are reloaded, which caches
+     * derived from burn durations may compare against to know when to invalidate themselves.
+     * It is incremented only once the new burn durations are visible.
+     *
+     * @return the current reload generation
+     */
+    public static int generation() {
+        return generation;
+    }
+
+    /**
+     * Rebuilds the context shared by the provided server from its current fuels.
+     * Called whenever the server starts or its data packs are reloaded.
+     *
+     * @param server must not be null
+     */
+    @ApiStatus.Internal
+    public static void reload(MinecraftServer server) {
+        var instance = INSTANCES.get(server);
+        if (instance == null) {
+            of(server);
+            bump();
+        } else {
+            instance.reload(server.fuelValues());
+        }
+    }
+
+    /**
+     * Forgets the context shared by the provided server.
+     * Called whenever the server stops.
+     *
+     * @param server must not be null
+     */
+    @ApiStatus.Internal
+    public static void discard(MinecraftServer server) {
+        INSTANCES.remove(server);
+    }
+
+    void reload(FuelValues values) {
+        this.tables = Tables.of(values);
+        bump();
+    }
+
+    @SuppressWarnings("java:S3078")
+    private static void bump() {
+        generation++;
+    }
+
+    @Override
+    public boolean isFuel(Item item) {
+        return this.burnDuration(item) > 0;
+    }
+
+    @Override
+    public boolean isFuel(ItemStack itemStack) {
+        var context = this.tables.components();
+        return context == null ? this.isFuel(itemStack.getItem()) : context.isFuel(itemStack);
+    }
+
+    @Override
+    public int burnDuration(Item item) {
+        var table = this.tables.durations();
+        int id = BuiltInRegistries.ITEM.getId(item);
+        return id >= 0 && id < table.length ? table[id] : 0;
+    }
+
+    @Override
+    public int burnDuration(ItemStack itemStack) {
+        var context = this.tables.components();
+        return context == null ? this.burnDuration(itemStack.getItem()) : context.burnDuration(itemStack);
+    }
+
+    @Override
+    public boolean isComponentSensitive() {
+        return this.tables.components() != null;
+    }
+
+    @Override
+    public boolean isCheap() {
+        return true;
+    }
+
+    @Override
+    public FuelLadder getFuelLadder() {
+        return this.tables.ladder();
+    }
+
+    private static record Tables(int[] durations, FuelLadder ladder, @Nullable BurningContext components) {
+
+        private static Tables of(FuelValues values) {
+            var source = new FuelValuesBurningContext(values);
+            var table = new int[BuiltInRegistries.ITEM.size()];
+            for (var fuel : values.fuelItems()) {
+                int id = BuiltInRegistries.ITEM.getId(fuel);
+                if (id >= 0 && id < table.length) {
+                    table[id] = values.burnDuration(new ItemStack(fuel));
+                    Burning.ofZero(fuel).one();
+                }
+            }
+            return new Tables(table, FuelLadder.of(values.fuelItems(), source),
+                    source.isComponentSensitive() ? new ComponentCachingBurningContext(source) : null);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package niv.burning.impl;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.core.component.DataComponentPatch;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import niv.burning.api.BurningContext;
+import niv.burning.api.FuelLadder;
+
+/**
+ * A {@link BurningContext} wrapper that caches the {@link ItemStack} based lookups of a
+ * {@link BurningContext#isComponentSensitive() component sensitive} context, keyed by item and
+ * data component patch hash.
+ *
+ * <p>
+ * The cache is bounded, evicting the least recently used entries first. It is never invalidated on
+ * its own: {@link CachingBurningContext} builds a new one each time fuels are reloaded. Entries are compared against the full patch on hit, so that
+ * hash collisions never return a wrong duration.
+ * </p>
+ */
+public final class ComponentCachingBurningContext implements BurningContext {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final record Entry(DataComponentPatch patch, boolean fuel, int duration) {
+    }
+
+    private final BurningContext source;
+
+    private final int capacity;
+
+    private final Long2ObjectLinkedOpenHashMap<Entry> entries;
+
+    private long hits;
+
+    private long misses;
+
+    public ComponentCachingBurningContext(BurningContext source) {
+        this(source, DEFAULT_CAPACITY);
+    }
+
+    public ComponentCachingBurningContext(BurningContext source, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+        }
+        this.source = source;
+        this.capacity = capacity;
+        this.entries = new Long2ObjectLinkedOpenHashMap<>(capacity);
+        this.hits = 0L;
+        this.misses = 0L;
+    }
+
+    public synchronized long getHitCount() {
+        return this.hits;
+    }
+
+    public synchronized long getMissCount() {
+        return this.misses;
+    }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    public synchronized void invalidate() {
+        this.entries.clear();
+    }
+
+    @Override
+    public boolean isFuel(Item item) {
+        return this.source.isFuel(item);
+    }
+
+    @Override
+    public boolean isFuel(ItemStack itemStack) {
+        return this.source.isComponentSensitive()
+                ? this.lookup(itemStack).fuel()
+                : this.source.isFuel(itemStack.getItem());
+    }
+
+    @Override
+    public int burnDuration(Item item) {
+        return this.source.burnDuration(item);
+    }
+
+    @Override
+    public int burnDuration(ItemStack itemStack) {
+        return this.source.isComponentSensitive()
+                ? this.lookup(itemStack).duration()
+                : this.source.burnDuration(itemStack.getItem());
+    }
+
+    @Override
+    public boolean isComponentSensitive() {
+        return this.source.isComponentSensitive();
+    }
+
+    @Override
+    public FuelLadder getFuelLadder() {
+        return this.source.getFuelLadder();
+    }
+
+    private synchronized Entry lookup(ItemStack itemStack) {
+        var patch = itemStack.getComponentsPatch();
+        long key = ((long) BuiltInRegistries.ITEM.getId(itemStack.getItem()) << Integer.SIZE)
+                | (patch.hashCode() & 0xFFFFFFFFL);
+        var entry = this.entries.getAndMoveToLast(key);
+        if (entry != null && entry.patch().equals(patch)) {
+            this.hits++;
+            return entry;
+        }
+        this.misses++;
+        entry = new Entry(patch, this.source.isFuel(itemStack), this.source.burnDuration(itemStack));
+        this.entries.putAndMoveToLast(key, entry);
+        if (this.entries.size() > this.capacity) {
+            this.entries.removeFirst();
+        }
+        return entry;
+    }
+}
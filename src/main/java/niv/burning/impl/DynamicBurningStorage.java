@@ -1,14 +1,18 @@
 package niv.burning.impl;
 
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
 import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import niv.burning.api.Burning;
 import niv.burning.api.BurningContext;
+import niv.burning.api.BurningState;
 import niv.burning.api.BurningStorage;
 import niv.burning.api.BurningStorageHelper;
+import niv.burning.api.BurningThresholdListener;
+import niv.burning.api.PackedBurning;
 
 @ApiStatus.Internal
 public class DynamicBurningStorage
@@ -30,6 +34,10 @@ public class DynamicBurningStorage
         this.zero = Burning.MIN_VALUE;
     }
 
+    boolean isFor(BlockEntity blockEntity) {
+        return this.target == blockEntity;
+    }
+
     private double burning() {
         return this.provider.litTime.get(target);
     }
@@ -50,35 +58,64 @@ public class DynamicBurningStorage
 
     @Override
     public Burning insert(Burning burning, BurningContext context, TransactionContext transaction) {
+        return PackedBurning.toBurning(this.insert(PackedBurning.of(burning, context), context, transaction), burning, context);
+    }
+
+    @Override
+    public long insert(long burning, BurningContext context, TransactionContext transaction) {
+        var fuel = PackedBurning.getFuel(burning);
         double currentBurning = burning();
         double maxBurning = maxBurning();
-        int fuelTime = burning.getBurnDuration(context);
-        double value = Math.min(
-                Math.max(maxBurning, fuelTime) - currentBurning,
-                burning.getValue(context));
+        int fuelTime = context.burnDuration(fuel);
+        double value = insertable(burning, currentBurning, maxBurning, fuelTime);
         updateSnapshots(transaction);
         currentBurning += value;
         burning(currentBurning);
         if ((maxBurning > fuelTime && currentBurning <= fuelTime) || currentBurning > maxBurning) {
             maxBurning(fuelTime);
-            this.zero = burning.zero();
+            this.zero = Burning.ofZero(fuel);
         }
-        return burning.withValue((int) value, context);
+        return PackedBurning.withTicks(burning, (int) value);
+    }
+
+    @Override
+    public long simulateInsert(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        int fuelTime = context.burnDuration(PackedBurning.getFuel(burning));
+        return PackedBurning.withTicks(burning, (int) insertable(burning, burning(), maxBurning(), fuelTime));
+    }
+
+    private static double insertable(long burning, double currentBurning, double maxBurning, int fuelTime) {
+        return Math.min(Math.max(maxBurning, fuelTime) - currentBurning, PackedBurning.getValue(burning));
     }
 
     @Override
     public Burning extract(Burning burning, BurningContext context, TransactionContext transaction) {
+        return PackedBurning.toBurning(this.extract(PackedBurning.of(burning, context), context, transaction), burning, context);
+    }
+
+    @Override
+    public long extract(long burning, BurningContext context, TransactionContext transaction) {
+        var fuel = PackedBurning.getFuel(burning);
         double currentBurning = burning();
-        int fuelTime = burning.getBurnDuration(context);
-        double value = Math.min(currentBurning, burning.getValue(context));
+        int fuelTime = context.burnDuration(fuel);
+        double value = extractable(burning, currentBurning);
         updateSnapshots(transaction);
         currentBurning -= value;
         burning(currentBurning);
         if (maxBurning() > fuelTime && currentBurning <= fuelTime) {
             maxBurning(fuelTime);
-            this.zero = burning.zero();
+            this.zero = Burning.ofZero(fuel);
         }
-        return burning.withValue((int) value, context);
+        return PackedBurning.withTicks(burning, (int) value);
+    }
+
+    @Override
+    public long simulateExtract(long burning, BurningContext context, @Nullable TransactionContext transaction) {
+        return PackedBurning.withTicks(burning, (int) extractable(burning, burning()));
+    }
+
+    private static double extractable(long burning, double currentBurning) {
+        return Math.min(currentBurning, PackedBurning.getValue(burning));
     }
 
     @Override
@@ -90,6 +127,16 @@ public class DynamicBurningStorage
         return zero.withValue((int) burning, context);
     }
 
+    @Override
+    public long getPackedBurning(BurningContext context) {
+        double burning = burning();
+        if (burning > zero.getBurnDuration(context)) {
+            this.zero = Burning.MIN_VALUE;
+        }
+        var fuel = this.zero.getFuel();
+        return PackedBurning.ofTicks(fuel, (int) Math.min(burning, context.burnDuration(fuel)));
+    }
+
     @Override
     public boolean isBurning() {
         return this.burning() > 0d;
@@ -112,4 +159,38 @@ public class DynamicBurningStorage
         BurningStorageHelper.tryUpdateLitProperty(this.target, this);
         this.target.setChanged();
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Since the target's own tick is not observed, any published state would go stale as soon as
+     * the target burns, so this storage does not publish its state.
+     * </p>
+     */
+    @Override
+    public @Nullable BurningState getPublishedState() {
+        return null;
+    }
+
+    @Override
+    public int getConsumptionRate() {
+        return 1;
+    }
+
+    @Override
+    public int getTicksUntilEmpty() {
+        return (int) Math.ceil(Math.max(0d, burning()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Since the target's own tick is not observed, this storage could not tell when it burns out,
+     * so it does not support subscriptions, and callers must poll it instead.
+     * </p>
+     */
+    @Override
+    public boolean subscribe(BurningThresholdListener listener) {
+        return false;
+    }
 }
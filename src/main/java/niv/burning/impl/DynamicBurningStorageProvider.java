@@ -53,7 +53,7 @@ public final class DynamicBurningStorageProvider implements BlockApiProvider<Bur
 
     final DynamicField litDuration;
 
-    private final Map<LevelPos, BurningStorage> cache;
+    private final Map<LevelPos, DynamicBurningStorage> cache;
 
     private DynamicBurningStorageProvider(BlockEntityType<?> type, DynamicField litTime, DynamicField litDuration) {
         this.type = type;
@@ -66,8 +66,10 @@ public final class DynamicBurningStorageProvider implements BlockApiProvider<Bur
     public @Nullable BurningStorage find(Level level, BlockPos pos, BlockState state,
             @Nullable BlockEntity blockEntity, @Nullable Direction context) {
         if (blockEntity != null && this.type.equals(blockEntity.getType())) {
-            return this.cache.computeIfAbsent(new LevelPos(level, pos),
-                    key -> new DynamicBurningStorage(this, blockEntity));
+            return this.cache.compute(new LevelPos(level, pos),
+                    (key, storage) -> storage != null && storage.isFor(blockEntity)
+                            ? storage
+                            : new DynamicBurningStorage(this, blockEntity));
         } else {
             return null;
         }
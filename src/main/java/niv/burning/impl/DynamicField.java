@@ -32,9 +32,9 @@ public abstract class DynamicField {
         return this.field.getName();
     }
 
-    abstract Double get(Object target);
+    abstract double get(Object target);
 
-    abstract void set(Object target, Double value);
+    abstract void set(Object target, double value);
 
     static final Optional<DynamicField> of(Field field) {
         return Optional.ofNullable(MAP.getOrDefault(field.getType(), null))
@@ -47,9 +47,9 @@ public abstract class DynamicField {
         }
 
         @Override
-        Double get(Object target) {
+        double get(Object target) {
             try {
-                return Double.valueOf(field.getInt(target));
+                return field.getInt(target);
             } catch (NullPointerException ex) {
                 return 0d;
             } catch (IllegalArgumentException | IllegalAccessException ex) {
@@ -59,9 +59,9 @@ public abstract class DynamicField {
 
         @Override
         @SuppressWarnings("java:S3011")
-        void set(Object target, Double value) {
+        void set(Object target, double value) {
             try {
-                field.setInt(target, value.intValue());
+                field.setInt(target, (int) value);
             } catch (IllegalArgumentException | IllegalAccessException ex) {
                 throw new IllegalStateException(ex);
             }
@@ -74,9 +74,9 @@ public abstract class DynamicField {
         }
 
         @Override
-        Double get(Object target) {
+        double get(Object target) {
             try {
-                return Double.valueOf(field.getLong(target));
+                return field.getLong(target);
             } catch (NullPointerException ex) {
                 return 0d;
             } catch (IllegalArgumentException | IllegalAccessException ex) {
@@ -86,9 +86,9 @@ public abstract class DynamicField {
 
         @Override
         @SuppressWarnings("java:S3011")
-        void set(Object target, Double value) {
+        void set(Object target, double value) {
             try {
-                field.setLong(target, value.longValue());
+                field.setLong(target, (long) value);
             } catch (IllegalArgumentException | IllegalAccessException ex) {
                 throw new IllegalStateException(ex);
             }
@@ -101,9 +101,9 @@ public abstract class DynamicField {
         }
 
         @Override
-        Double get(Object target) {
+        double get(Object target) {
             try {
-                return Double.valueOf(field.getFloat(target));
+                return field.getFloat(target);
             } catch (NullPointerException ex) {
                 return 0d;
             } catch (IllegalArgumentException | IllegalAccessException ex) {
@@ -113,9 +113,9 @@ public abstract class DynamicField {
 
         @Override
         @SuppressWarnings("java:S3011")
-        void set(Object target, Double value) {
+        void set(Object target, double value) {
             try {
-                field.setFloat(target, value.floatValue());
+                field.setFloat(target, (float) value);
             } catch (IllegalArgumentException | IllegalAccessException ex) {
                 throw new IllegalStateException(ex);
             }
@@ -128,9 +128,9 @@ public abstract class DynamicField {
         }
 
         @Override
-        Double get(Object target) {
+        double get(Object target) {
             try {
-                return Double.valueOf(field.getDouble(target));
+                return field.getDouble(target);
             } catch (NullPointerException ex) {
                 return 0d;
             } catch (IllegalArgumentException | IllegalAccessException ex) {
@@ -140,9 +140,9 @@ public abstract class DynamicField {
 
         @Override
         @SuppressWarnings("java:S3011")
-        void set(Object target, Double value) {
+        void set(Object target, double value) {
             try {
-                field.setDouble(target, value.doubleValue());
+                field.setDouble(target, value);
             } catch (IllegalArgumentException | IllegalAccessException ex) {
                 throw new IllegalStateException(ex);
             }
@@ -1,5 +1,6 @@
 package niv.burning.impl;
 
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.block.entity.FuelValues;
 import niv.burning.api.BurningContext;
@@ -8,8 +9,18 @@ public class FuelValuesBurningContext implements BurningContext {
 
     private final FuelValues values;
 
+    private final boolean componentSensitive;
+
     public FuelValuesBurningContext(FuelValues values) {
         this.values = values;
+        this.componentSensitive = values.getClass() != FuelValues.class;
+    }
+
+    @Override
+    public boolean isFuel(Item item) {
+        return this.componentSensitive
+                ? this.values.isFuel(new ItemStack(item))
+                : this.values.values.containsKey(item);
     }
 
     @Override
@@ -17,8 +28,20 @@ public class FuelValuesBurningContext implements BurningContext {
         return this.values.isFuel(itemStack);
     }
 
+    @Override
+    public int burnDuration(Item item) {
+        return this.componentSensitive
+                ? this.values.burnDuration(new ItemStack(item))
+                : this.values.values.getInt(item);
+    }
+
     @Override
     public int burnDuration(ItemStack itemStack) {
         return this.values.burnDuration(itemStack);
     }
+
+    @Override
+    public boolean isComponentSensitive() {
+        return this.componentSensitive;
+    }
 }
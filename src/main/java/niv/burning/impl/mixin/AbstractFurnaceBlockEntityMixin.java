@@ -9,9 +9,12 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 import com.llamalad7.mixinextras.sugar.Local;
 
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.block.entity.AbstractFurnaceBlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
 import niv.burning.api.BurningStorage;
 import niv.burning.impl.AbstractFurnaceBlockEntityExtension;
 import niv.burning.impl.AbstractFurnaceBurningStorage;
@@ -59,4 +62,14 @@ public class AbstractFurnaceBlockEntityMixin implements AbstractFurnaceBlockEnti
             @Local(ordinal = 0) ItemStack itemStack) {
         entity.burning_setFuel(itemStack.getItem());
     }
+
+    @Inject( //
+            method = "serverTick(" + SERVER_LEVEL + BLOCK_POS + BLOCK_STATE + ENTITY + ")V", //
+            at = @At("TAIL"))
+    private static void injectAtTail(ServerLevel level, BlockPos pos, BlockState state,
+            AbstractFurnaceBlockEntity entity, CallbackInfo info) {
+        if (entity.burning_getBurningStorage() instanceof AbstractFurnaceBurningStorage storage) {
+            storage.updateThresholds();
+        }
+    }
 }
@@ -1,9 +1,16 @@
 package niv.burning.api;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeAll;
@@ -11,8 +18,21 @@ import org.junit.jupiter.api.Test;
 
 import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
 import net.minecraft.SharedConstants;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtOps;
 import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.Items;
+import niv.burning.api.base.BurningStoragePool;
+import niv.burning.api.base.CombinedBurningStorage;
+import niv.burning.api.base.ConcurrentBurningStorage;
+import niv.burning.api.base.ForwardingBurningStorage;
+import niv.burning.api.base.InfiniteBurningStorage;
+import niv.burning.api.base.LazyBurningStorage;
+import niv.burning.api.base.RateLimitedBurningStorage;
 import niv.burning.api.base.SimpleBurningStorage;
+import niv.burning.api.level.BurningJournal;
+import niv.burning.api.level.BurningTransferPlanner;
 import niv.burning.impl.AbstractFurnaceBurningStorages;
 import niv.burning.impl.DefaultBurningContext;
 import niv.burning.impl.DynamicBurningStorageProviders;
@@ -50,6 +70,474 @@ class BurningStorageTests {
         testBurningStorage(DynamicBurningStorages::createSmoker);
     }
 
+    @Test
+    void testTransferMany() {
+        var context = DefaultBurningContext.instance();
+
+        final var blazeOne = Burning.BLAZE_ROD.one();
+        final var blaze8 = Burning.BLAZE_ROD.withValue(800, context);
+
+        var source = new SimpleBurningStorage();
+        var targets = List.of(new SimpleBurningStorage(), new SimpleBurningStorage(), new SimpleBurningStorage());
+
+        try (var transaction = Transaction.openOuter()) {
+            assertEquals(blazeOne, source.insert(blazeOne, context, transaction));
+            transaction.commit();
+        }
+
+        assertEquals(blazeOne,
+                BurningStorage.transferMany(source, targets, blazeOne, context, BurningDistribution.EVEN, null));
+        assertEquals(0, source.getBurning(context).getValue(context).intValue());
+        for (var target : targets) {
+            assertEquals(blaze8, target.getBurning(context));
+        }
+
+        assertEquals(blazeOne, BurningStorage.transferMany(
+                InfiniteBurningStorage.INSTANCE, List.of(source, targets.get(0)), blazeOne, context,
+                BurningDistribution.LOWEST_FIRST, null));
+        assertEquals(blazeOne, source.getBurning(context));
+        assertEquals(blaze8, targets.get(0).getBurning(context));
+    }
+
+    @Test
+    void testThresholdSubscription() {
+        var context = DefaultBurningContext.instance();
+        var storage = new SimpleBurningStorage();
+        var crossed = new EnumMap<BurningThreshold, Boolean>(BurningThreshold.class);
+
+        assertTrue(storage.subscribe((source, threshold, reached) -> crossed.put(threshold, reached)));
+
+        try (var transaction = Transaction.openOuter()) {
+            storage.insert(Burning.COAL.one(), context, transaction);
+            assertTrue(crossed.isEmpty());
+            transaction.commit();
+        }
+
+        assertEquals(Map.of(BurningThreshold.EMPTY, false, BurningThreshold.FULL, true, BurningThreshold.LIT, true),
+                crossed);
+
+        crossed.clear();
+        storage.setCurrentBurning(800);
+        assertEquals(Map.of(BurningThreshold.FULL, false), crossed);
+
+        assertFalse(DynamicBurningStorages.createFurnace().subscribe((source, threshold, reached) -> {
+        }));
+    }
+
+    @Test
+    void testTicksUntilEmpty() {
+        var context = DefaultBurningContext.instance();
+        var storage = new SimpleBurningStorage();
+
+        assertEquals(1, storage.getConsumptionRate());
+        assertEquals(0, storage.getTicksUntilEmpty());
+
+        try (var transaction = Transaction.openOuter()) {
+            storage.insert(Burning.COAL.withValue(800, context), context, transaction);
+            transaction.commit();
+        }
+
+        assertEquals(800, storage.getTicksUntilEmpty());
+        storage.setConsumptionRate(3);
+        assertEquals(267, storage.getTicksUntilEmpty());
+        storage.setConsumptionRate(0);
+        assertEquals(-1, storage.getTicksUntilEmpty());
+    }
+
+    @Test
+    void testCombinedBurningStorage() {
+        var context = DefaultBurningContext.instance();
+        var members = List.of(new SimpleBurningStorage(), new SimpleBurningStorage(), new SimpleBurningStorage());
+        var storage = new CombinedBurningStorage(members);
+
+        try (var transaction = Transaction.openOuter()) {
+            assertEquals(PackedBurning.ofTicks(Items.COAL, 3200),
+                    storage.insert(PackedBurning.ofTicks(Items.COAL, 3200), context, transaction));
+            transaction.commit();
+        }
+
+        assertEquals(3200, PackedBurning.getTicks(storage.getPackedBurning(context)));
+        assertEquals(Burning.COAL.one(), members.get(0).getBurning(context));
+        assertEquals(Burning.COAL.one(), members.get(1).getBurning(context));
+        assertEquals(0, members.get(2).getCurrentBurning());
+
+        try (var transaction = Transaction.openOuter()) {
+            assertEquals(PackedBurning.ofTicks(Items.COAL, 2000),
+                    storage.extract(PackedBurning.ofTicks(Items.COAL, 2000), context, transaction));
+        }
+
+        assertEquals(3200, PackedBurning.getTicks(storage.getPackedBurning(context)));
+
+        try (var transaction = Transaction.openOuter()) {
+            storage.extract(PackedBurning.ofTicks(Items.COAL, 2000), context, transaction);
+            transaction.commit();
+        }
+
+        assertEquals(1200, PackedBurning.getTicks(storage.getPackedBurning(context)));
+        assertEquals(0, members.get(0).getCurrentBurning());
+
+        // Aborting restores the cached fuel too
+        try (var transaction = Transaction.openOuter()) {
+            storage.insert(PackedBurning.ofTicks(Items.LAVA_BUCKET, 100), context, transaction);
+        }
+
+        assertEquals(PackedBurning.ofTicks(Items.COAL, 1200), storage.getPackedBurning(context));
+    }
+
+    @Test
+    void testCombinedBurningStorageCache() {
+        var context = DefaultBurningContext.instance();
+        var members = List.of(new SimpleBurningStorage(), new SimpleBurningStorage());
+        var storage = new CombinedBurningStorage(members);
+
+        try (var transaction = Transaction.openOuter()) {
+            assertEquals(PackedBurning.ofTicks(Items.COAL, 2400),
+                    storage.insert(PackedBurning.ofTicks(Items.COAL, 2400), context, transaction));
+            transaction.commit();
+        }
+
+        // The first member is full of coal, but can still take a longer burning fuel
+        try (var transaction = Transaction.openOuter()) {
+            assertEquals(PackedBurning.ofTicks(Items.LAVA_BUCKET, 37600),
+                    storage.insert(PackedBurning.ofTicks(Items.LAVA_BUCKET, 38000), context, transaction));
+            transaction.commit();
+        }
+
+        assertEquals(20000, members.get(0).getCurrentBurning());
+        assertEquals(20000, members.get(1).getCurrentBurning());
+
+        // Members changed outside the combined view without notifying it must be invalidated
+        members.get(0).setCurrentBurning(1000);
+        members.get(1).setCurrentBurning(3000);
+        storage.invalidate(0);
+        storage.invalidate(1);
+
+        assertEquals(4000, PackedBurning.getTicks(storage.getPackedBurning(context)));
+
+        // Once open, members notifying it are noticed as they cross a threshold
+        var subscribed = List.of(new SimpleBurningStorage(), new SimpleBurningStorage());
+        var combined = new CombinedBurningStorage(subscribed);
+        combined.open();
+
+        try (var transaction = Transaction.openOuter()) {
+            combined.insert(PackedBurning.ofTicks(Items.COAL, 3200), context, transaction);
+            transaction.commit();
+        }
+
+        try (var transaction = Transaction.openOuter()) {
+            subscribed.get(0).extract(PackedBurning.ofTicks(Items.COAL, 1600), context, transaction);
+            transaction.commit();
+        }
+
+        assertEquals(1600, PackedBurning.getTicks(combined.getPackedBurning(context)));
+
+        // Once closed, they are not anymore
+        combined.close();
+        try (var transaction = Transaction.openOuter()) {
+            subscribed.get(1).extract(PackedBurning.ofTicks(Items.COAL, 1600), context, transaction);
+            transaction.commit();
+        }
+
+        assertEquals(1600, PackedBurning.getTicks(combined.getPackedBurning(context)));
+    }
+
+    @Test
+    void testRateLimitedBurningStorage() {
+        var context = DefaultBurningContext.instance();
+        var time = new long[] { 0L };
+        var storage = new SimpleBurningStorage();
+        var view = new RateLimitedBurningStorage(storage, () -> time[0], 100, 50, 2);
+        final long coal = PackedBurning.ofTicks(Items.COAL, 1600);
+
+        assertEquals(2, view.getPriority());
+        assertEquals(PackedBurning.ofTicks(Items.COAL, 100),
+                BurningStorage.transfer(InfiniteBurningStorage.INSTANCE, view, coal, context, null));
+        assertFalse(view.supportsInsertion());
+        assertTrue(PackedBurning.isZero(
+                BurningStorage.transfer(InfiniteBurningStorage.INSTANCE, view, coal, context, null)));
+        assertEquals(100, storage.getCurrentBurning());
+
+        time[0]++;
+        assertTrue(view.supportsInsertion());
+
+        try (var transaction = Transaction.openOuter()) {
+            assertEquals(PackedBurning.ofTicks(Items.COAL, 100), view.insert(coal, context, transaction));
+        }
+
+        assertEquals(100 * PackedBurning.ONE_TICK, view.getRemainingInsertion());
+        assertEquals(PackedBurning.ofTicks(Items.COAL, 50),
+                BurningStorage.transfer(view, new SimpleBurningStorage(), coal, context, null));
+        assertFalse(view.supportsExtraction());
+        assertEquals(50, storage.getCurrentBurning());
+
+        // Reading the remaining amounts changes nothing, and aborting in a later tick restores a full cap
+        time[0]++;
+        assertEquals(50 * PackedBurning.ONE_TICK, view.getRemainingExtraction());
+        try (var transaction = Transaction.openOuter()) {
+            view.insert(coal, context, transaction);
+            assertEquals(0L, view.getRemainingInsertion());
+        }
+
+        assertEquals(100 * PackedBurning.ONE_TICK, view.getRemainingInsertion());
+        assertEquals(50 * PackedBurning.ONE_TICK, view.getRemainingExtraction());
+    }
+
+    @Test
+    void testTransferPlanner() {
+        var context = DefaultBurningContext.instance();
+        var source = new SimpleBurningStorage();
+        var low = new SimpleBurningStorage();
+        var high = new SimpleBurningStorage();
+
+        try (var transaction = Transaction.openOuter()) {
+            source.insert(Burning.COAL.one(), context, transaction);
+            transaction.commit();
+        }
+
+        var snapshot = BurningTransferPlanner.snapshot(List.of(source),
+                List.of(low, new RateLimitedBurningStorage(high, () -> 0L, 1600, 1600, 1)),
+                PackedBurning.ofTicks(Items.COAL, 2000), context);
+        var plan = snapshot.plan(BurningDistribution.EVEN);
+
+        assertEquals(1, plan.size());
+        assertEquals(0, plan.getSource(0));
+        assertEquals(1, plan.getSink(0));
+        assertEquals(1600L, plan.getTicks(0));
+
+        assertEquals(PackedBurning.ofTicks(Items.COAL, 1600), plan.apply(context, null));
+        assertEquals(0, source.getCurrentBurning());
+        assertEquals(0, low.getCurrentBurning());
+        assertEquals(1600, high.getCurrentBurning());
+
+        var other = new SimpleBurningStorage();
+        try (var transaction = Transaction.openOuter()) {
+            low.insert(PackedBurning.ofTicks(Items.COAL, 800), context, transaction);
+            other.insert(PackedBurning.ofTicks(Items.COAL, 800), context, transaction);
+            transaction.commit();
+        }
+
+        plan = BurningTransferPlanner.snapshot(List.of(low, other), List.of(low),
+                PackedBurning.ofTicks(Items.COAL, 800), context).plan(BurningDistribution.EVEN);
+
+        assertEquals(1, plan.size());
+        assertEquals(1, plan.getSource(0));
+        assertEquals(0, plan.getSink(0));
+        assertEquals(PackedBurning.ofTicks(Items.COAL, 800), plan.apply(context, null));
+        assertEquals(1600, low.getCurrentBurning());
+        assertEquals(0, other.getCurrentBurning());
+    }
+
+    @Test
+    void testLazyBurningStorage() {
+        var context = DefaultBurningContext.instance();
+        var time = new long[] { 0L };
+        var storage = new LazyBurningStorage(() -> time[0]);
+
+        try (var transaction = Transaction.openOuter()) {
+            storage.insert(Burning.COAL.one(), context, transaction);
+            transaction.commit();
+        }
+
+        time[0] = 100L;
+        assertEquals(1500, storage.getCurrentBurning());
+        assertEquals(1500, storage.getTicksUntilEmpty());
+        assertTrue(storage.isBurning());
+
+        storage.setConsumptionRate(0);
+        time[0] = 200L;
+        assertEquals(1500, storage.getCurrentBurning());
+
+        var crossed = new EnumMap<BurningThreshold, Boolean>(BurningThreshold.class);
+        assertTrue(storage.subscribe((source, threshold, reached) -> crossed.put(threshold, reached)));
+
+        storage.setConsumptionRate(2);
+        time[0] = 1000L;
+        assertEquals(0, storage.getCurrentBurning());
+        assertFalse(storage.isBurning());
+        assertEquals(Map.of(BurningThreshold.EMPTY, true, BurningThreshold.LIT, false), crossed);
+        assertEquals(new BurningState(Items.COAL, 0, 1600, false), storage.getPublishedState());
+    }
+
+    @Test
+    void testBurningStoragePool() {
+        var context = DefaultBurningContext.instance();
+        var pool = new BurningStoragePool(1);
+        var a = pool.get(pool.allocate());
+        var b = pool.get(pool.allocate());
+
+        try (var transaction = Transaction.openOuter()) {
+            assertEquals(Burning.COAL.one(), a.insert(Burning.COAL.one(), context, transaction));
+        }
+
+        assertEquals(0, pool.getCurrentBurning(a.getIndex()));
+
+        try (var transaction = Transaction.openOuter()) {
+            a.insert(Burning.COAL.one(), context, transaction);
+            transaction.commit();
+        }
+
+        assertEquals(PackedBurning.ofTicks(Items.COAL, 800),
+                BurningStorage.transfer(a, b, PackedBurning.ofTicks(Items.COAL, 800), context, null));
+        assertEquals(Burning.COAL.withValue(800, context), b.getBurning(context));
+
+        pool.tick();
+        assertEquals(799, pool.getCurrentBurning(a.getIndex()));
+        assertEquals(799, b.getTicksUntilEmpty());
+        assertEquals(2, pool.countBurning(0, pool.size()));
+
+        pool.consume(0, pool.size(), 1000);
+        assertEquals(0, pool.countBurning(0, pool.size()));
+        assertFalse(a.isBurning());
+
+        try (var transaction = Transaction.openOuter()) {
+            assertThrows(IllegalStateException.class, () -> pool.release(a.getIndex()));
+        }
+
+        pool.release(a.getIndex());
+        assertThrows(IllegalStateException.class, () -> pool.release(a.getIndex()));
+        assertEquals(a.getIndex(), pool.allocate());
+        assertEquals(2, pool.allocate());
+        pool.release(a.getIndex());
+    }
+
+    @Test
+    void testConcurrentBurningStorage() throws InterruptedException {
+        var context = DefaultBurningContext.instance();
+        var storage = new ConcurrentBurningStorage();
+        var threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 100; j++) {
+                    storage.deposit(PackedBurning.ofTicks(Items.COAL, 1), context);
+                }
+            });
+            threads[i].start();
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(PackedBurning.ofTicks(Items.COAL, 400), storage.getPackedBurning(context));
+
+        try (var transaction = Transaction.openOuter()) {
+            assertEquals(PackedBurning.ofTicks(Items.COAL, 300),
+                    storage.extract(PackedBurning.ofTicks(Items.COAL, 300), context, transaction));
+            storage.deposit(PackedBurning.ofTicks(Items.COAL, 50), context);
+        }
+
+        assertEquals(PackedBurning.ofTicks(Items.COAL, 450), storage.getPackedBurning(context));
+        assertEquals(450, storage.consume(1000));
+        assertFalse(storage.isBurning());
+
+        storage.deposit(PackedBurning.ofTicks(Items.COAL, 1600), context);
+        try (var transaction = Transaction.openOuter()) {
+            storage.extract(PackedBurning.ofTicks(Items.COAL, 800), context, transaction);
+            storage.deposit(PackedBurning.ofTicks(Items.COAL, 800), context);
+        }
+
+        assertEquals(new BurningState(Items.COAL, 1600, 1600, true), storage.getPublishedState());
+
+        storage.consume(1600);
+        try (var transaction = Transaction.openOuter()) {
+            storage.insert(PackedBurning.ofTicks(Items.COAL, 800), context, transaction);
+            assertEquals(600, storage.consume(600));
+        }
+
+        assertEquals(new BurningState(Items.COAL, 0, 1600, false), storage.getPublishedState());
+    }
+
+    @Test
+    void testPublishedState() {
+        var context = DefaultBurningContext.instance();
+        var storage = new SimpleBurningStorage();
+
+        assertEquals(BurningState.EMPTY, storage.getPublishedState());
+
+        try (var transaction = Transaction.openOuter()) {
+            storage.insert(Burning.COAL.one(), context, transaction);
+            assertEquals(BurningState.EMPTY, storage.getPublishedState());
+            transaction.commit();
+        }
+
+        assertEquals(new BurningState(Items.COAL, 1600, 1600, true), storage.getPublishedState());
+        storage.setCurrentBurning(800);
+        assertEquals(new BurningState(Items.COAL, 800, 1600, true), storage.getPublishedState());
+
+        // Forwarding storages publish their last resolved target, without resolving it again
+        var resolutions = new int[] { 0 };
+        var forwarding = new ForwardingBurningStorage(() -> {
+            resolutions[0]++;
+            return storage;
+        });
+        assertNull(forwarding.getPublishedState());
+        assertTrue(forwarding.isBurning());
+        assertEquals(new BurningState(Items.COAL, 800, 1600, true), forwarding.getPublishedState());
+        assertEquals(1, resolutions[0]);
+
+        var pool = new BurningStoragePool();
+        var handle = pool.get(pool.allocate());
+        assertEquals(BurningState.EMPTY, handle.getPublishedState());
+
+        try (var transaction = Transaction.openOuter()) {
+            handle.insert(Burning.COAL.one(), context, transaction);
+            transaction.commit();
+        }
+
+        assertEquals(new BurningState(Items.COAL, 1600, 1600, true), handle.getPublishedState());
+        pool.tick();
+        assertEquals(new BurningState(Items.COAL, 1599, 1600, true), handle.getPublishedState());
+
+        var combined = new CombinedBurningStorage(List.of(new SimpleBurningStorage(), new SimpleBurningStorage()));
+        assertEquals(BurningState.EMPTY, combined.getPublishedState());
+
+        try (var transaction = Transaction.openOuter()) {
+            combined.insert(PackedBurning.ofTicks(Items.COAL, 2400), context, transaction);
+            transaction.commit();
+        }
+
+        assertEquals(new BurningState(Items.COAL, 2400, 0, true), combined.getPublishedState());
+
+        assertNull(DynamicBurningStorages.createFurnace().getPublishedState());
+    }
+
+    @Test
+    void testBurningJournal() {
+        var journal = BurningJournal.CODEC.parse(NbtOps.INSTANCE, new ListTag()).getOrThrow();
+        var pos = new BlockPos(100, 64, -100);
+        var coal = PackedBurning.ofTicks(Items.COAL, 1600);
+        var max = PackedBurning.pack(Items.COAL, PackedBurning.MAX_FIXED_TICKS);
+
+        try (var transaction = Transaction.openOuter()) {
+            journal.record(pos, coal, transaction);
+        }
+
+        assertEquals(0, journal.size());
+
+        try (var transaction = Transaction.openOuter()) {
+            try (var nested = transaction.openNested()) {
+                journal.record(pos, PackedBurning.ofTicks(Items.LAVA_BUCKET, 100), nested);
+            }
+            journal.record(pos, PackedBurning.ofTicks(Items.COAL, 800), transaction);
+            journal.record(pos, PackedBurning.ofTicks(Items.COAL, 800), transaction);
+            transaction.commit();
+        }
+
+        assertArrayEquals(new long[] { coal }, journal.getPending(pos));
+
+        try (var transaction = Transaction.openOuter()) {
+            journal.record(pos, max, transaction);
+            transaction.commit();
+        }
+
+        assertArrayEquals(new long[] { max, coal }, journal.getPending(pos));
+
+        var tag = BurningJournal.CODEC.encodeStart(NbtOps.INSTANCE, journal).getOrThrow();
+        var copy = BurningJournal.CODEC.parse(NbtOps.INSTANCE, tag).getOrThrow();
+
+        assertEquals(1, copy.size());
+        assertArrayEquals(new long[] { max, coal }, copy.getPending(pos));
+    }
+
     private void testBurningStorage(Supplier<? extends BurningStorage> constructor) {
         var context = DefaultBurningContext.instance();
         assertNotNull(context);
@@ -90,6 +578,7 @@ class BurningStorageTests {
 
         assertEquals(coalOne, storage.getBurning(context));
 
+        final var blaze2 = Burning.BLAZE_ROD.withValue(200, context);
         final var blaze6 = Burning.BLAZE_ROD.withValue(600, context);
         final var blaze10 = Burning.BLAZE_ROD.withValue(1000, context);
         final var blaze12 = Burning.BLAZE_ROD.withValue(1200, context);
@@ -104,6 +593,20 @@ class BurningStorageTests {
 
         assertEquals(blaze12, storage.getBurning(context));
 
+        final var packed10 = PackedBurning.of(blaze10, context);
+
+        try (var transaction = Transaction.openOuter()) {
+            var simulated = storage.simulateExtract(packed10, context, transaction);
+            assertEquals(blaze12, storage.getBurning(context));
+            assertEquals(simulated, storage.extract(packed10, context, transaction));
+
+            simulated = storage.simulateInsert(packed10, context, transaction);
+            assertEquals(blaze2, storage.getBurning(context));
+            assertEquals(simulated, storage.insert(packed10, context, transaction));
+        }
+
+        assertEquals(blaze12, storage.getBurning(context));
+
         testTransfer(constructor);
     }
 
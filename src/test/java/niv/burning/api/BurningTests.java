@@ -3,15 +3,28 @@ package niv.burning.api;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Map;
+
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.spongepowered.include.com.google.common.base.Objects;
 
+import sun.misc.Unsafe;
+
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
 import net.minecraft.SharedConstants;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
+import niv.burning.api.base.SimpleBurningContext;
+import niv.burning.api.base.SimpleBurningStorage;
 import niv.burning.impl.BurningContexts;
 import niv.burning.impl.DefaultBurningContext;
 
@@ -48,6 +61,33 @@ class BurningTests {
         assertTrue(Objects.equal(burningOne, burningTwo));
     }
 
+    @Test
+    void testInterner() throws InterruptedException {
+        var coal = Burning.ofZero(Items.COAL);
+        var last = BuiltInRegistries.ITEM.byId(BuiltInRegistries.ITEM.size() - 1);
+
+        assertSame(Burning.COAL, coal);
+        assertSame(Burning.ofZero(last), Burning.ofZero(last));
+        assertSame(coal, Burning.ofZero(Items.COAL));
+        assertSame(coal.one(), Burning.COAL.one());
+        assertSame(coal, coal.one().zero());
+
+        var found = new Burning[4];
+        var threads = new Thread[found.length];
+        for (int i = 0; i < threads.length; i++) {
+            int index = i;
+            threads[i] = new Thread(() -> found[index] = Burning.ofZero(Items.STICK).one());
+            threads[i].start();
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        for (var burning : found) {
+            assertSame(Burning.ofZero(Items.STICK).one(), burning);
+        }
+    }
+
     @Test
     void testOperations() {
         var context = DefaultBurningContext.instance();
@@ -151,4 +191,149 @@ class BurningTests {
         assertEquals(coal6, Burning.maxValue(coal4, coal6, squared));
         assertEquals(coal6, Burning.maxValue(coal6, coal4, squared));
     }
+
+    @Test
+    void testPackedOperations() {
+        var context = DefaultBurningContext.instance();
+
+        final var coal16 = PackedBurning.ofTicks(Items.COAL, 1600);
+        final var coal6 = PackedBurning.ofTicks(Items.COAL, 600);
+        final var coal4 = PackedBurning.ofTicks(Items.COAL, 400);
+        final var coal0 = PackedBurning.zero(Items.COAL);
+
+        final var blaze10 = PackedBurning.ofTicks(Items.BLAZE_ROD, 1000);
+
+        assertEquals(coal16, PackedBurning.add(coal6, blaze10, context));
+        assertEquals(coal16, PackedBurning.add(blaze10, coal6, context));
+
+        assertEquals(coal4, PackedBurning.subtract(blaze10, coal6, context));
+        assertEquals(coal0, PackedBurning.subtract(coal6, blaze10, context));
+
+        assertEquals(coal4, PackedBurning.min(coal4, coal6));
+        assertEquals(coal6, PackedBurning.max(coal4, coal6));
+        assertTrue(PackedBurning.compare(coal4, coal6) < 0);
+
+        assertEquals(Burning.COAL.withValue(600, context), PackedBurning.toBurning(coal6, context));
+        assertEquals(coal6, PackedBurning.of(Burning.COAL.withValue(600, context), context));
+
+        final var halved = BurningContexts.HALVED;
+        assertEquals(PackedBurning.ofTicks(Items.COAL, 300),
+                PackedBurning.of(Burning.COAL.withValue(300, halved), halved));
+    }
+
+    @Test
+    void testUnpackableFuel() throws ReflectiveOperationException {
+        var context = DefaultBurningContext.instance();
+        // Items can no longer be constructed once registries are frozen, so skip the constructor
+        var field = Unsafe.class.getDeclaredField("theUnsafe");
+        field.setAccessible(true);
+        var fuel = (Item) ((Unsafe) field.get(null)).allocateInstance(Item.class);
+        var burning = Burning.ofZero(fuel);
+
+        assertFalse(PackedBurning.isPackable(fuel));
+        assertEquals(PackedBurning.MIN_VALUE, PackedBurning.of(burning, context));
+        assertEquals(burning, PackedBurning.toBurning(PackedBurning.MIN_VALUE, burning, context));
+
+        var storage = new SimpleBurningStorage();
+        try (var transaction = Transaction.openOuter()) {
+            var inserted = storage.insert(burning, context, transaction);
+            assertSame(fuel, inserted.getFuel());
+            assertEquals(0d, inserted.getPercent());
+            transaction.commit();
+        }
+
+        assertFalse(storage.isBurning());
+    }
+
+    @Test
+    void testAccumulator() {
+        var context = DefaultBurningContext.instance();
+
+        final var coal6 = Burning.COAL.withValue(600, context);
+        final var coal4 = Burning.COAL.withValue(400, context);
+        final var blaze10 = Burning.BLAZE_ROD.withValue(1000, context);
+
+        var accumulator = new BurningAccumulator(context);
+        assertTrue(accumulator.isEmpty());
+
+        accumulator.add(coal6).add(blaze10);
+        assertEquals(Burning.add(coal6, blaze10, context), accumulator.toBurning());
+
+        accumulator.add(coal4);
+        assertEquals(2000, (int) accumulator.getValue());
+        assertEquals(Burning.BLAZE_ROD.withValue(2000, context), accumulator.toBurning());
+
+        accumulator.reset().add(PackedBurning.ofTicks(Items.COAL, 400));
+        assertEquals(coal4, accumulator.toBurning());
+    }
+
+    @Test
+    void testFuelLadder() {
+        var context = new SimpleBurningContext(Map.of(
+                Items.COAL, 1600,
+                Items.BLAZE_ROD, 2400,
+                Items.LAVA_BUCKET, 20000));
+
+        var ladder = context.getFuelLadder();
+        assertNotNull(ladder);
+        assertEquals(3, ladder.size());
+        assertEquals(Items.COAL, ladder.bestFit(1600));
+        assertEquals(Items.BLAZE_ROD, ladder.bestFit(1601));
+        assertEquals(Items.LAVA_BUCKET, ladder.largest());
+        assertNull(ladder.bestFit(20001));
+
+        final var coal10 = Burning.COAL.withValue(1000, context);
+        assertEquals(Burning.BLAZE_ROD.withValue(2000, context), Burning.add(coal10, coal10, context));
+        assertEquals(Burning.BLAZE_ROD.withValue(2000, context),
+                Burning.BLAZE_ROD.withValue(2000, context).withFuel(Items.COAL, context));
+        assertEquals(PackedBurning.ofTicks(Items.BLAZE_ROD, 2000),
+                PackedBurning.withFuel(PackedBurning.ofTicks(Items.BLAZE_ROD, 2000), Items.COAL, context));
+    }
+
+    @Test
+    void testBoundBurning() {
+        var context = DefaultBurningContext.instance();
+
+        final var coal6 = Burning.COAL.withValue(600, context).bind(context);
+        final var blaze10 = Burning.BLAZE_ROD.withValue(1000, context).bind(context);
+
+        assertEquals(1600, coal6.getBurnDuration());
+        assertEquals(600, (int) coal6.getValue());
+
+        assertEquals(Burning.add(coal6.getBurning(), blaze10.getBurning(), context),
+                coal6.add(blaze10).getBurning());
+        assertEquals(Burning.subtract(blaze10.getBurning(), coal6.getBurning(), context),
+                blaze10.subtract(coal6).getBurning());
+        assertTrue(coal6.compareTo(blaze10) < 0);
+        assertEquals(PackedBurning.ofTicks(Items.COAL, 600), coal6.toPacked());
+
+        var memo = BoundBurning.memoize(context);
+        assertNotSame(context, memo);
+        assertSame(memo, BoundBurning.memoize(memo));
+        assertSame(context, BoundBurning.unwrap(memo));
+
+        var cheap = new SimpleBurningContext(Map.of(Items.COAL, 1600));
+        assertSame(cheap, BoundBurning.memoize(cheap));
+        assertSame(cheap, Burning.COAL.bind(cheap).getContext());
+    }
+
+    @Test
+    void testStackOnlyContext() {
+        var context = new BurningContext() {
+            @Override
+            public boolean isFuel(ItemStack itemStack) {
+                return DefaultBurningContext.instance().isFuel(itemStack.getItem());
+            }
+
+            @Override
+            public int burnDuration(ItemStack itemStack) {
+                return DefaultBurningContext.instance().burnDuration(itemStack.getItem());
+            }
+        };
+
+        assertTrue(context.isFuel(Items.COAL));
+        assertFalse(context.isFuel(Items.DIRT));
+        assertEquals(1600, context.burnDuration(Items.COAL));
+        assertEquals(600, Burning.COAL.withValue(600, context).getValue(context).intValue());
+    }
 }
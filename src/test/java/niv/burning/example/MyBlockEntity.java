@@ -70,7 +70,10 @@ public class MyBlockEntity extends BlockEntity implements BurningStorageListener
         BurningContext context1 = null;
 
         // After 1.21.2, you can also use the FuelValuesBurningContext wrapper class
-        BurningContext context = new FuelValuesBurningContext(level.fuelValues());
+        BurningContext context2 = new FuelValuesBurningContext(level.fuelValues());
+
+        // Or, on the server, the shared context, which looks durations up in a flat array
+        BurningContext context = BurningContext.of(level);
 
         // Create the maximum amount of burning fuel to transfer, for instance, half a COAL worth of burning fuel
         Burning burning1 = Burning.of(Items.COAL, context).withValue(800, context);
@@ -0,0 +1,66 @@
+package niv.burning.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.flag.FeatureFlags;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.block.entity.FuelValues;
+
+class CachingBurningContextTests {
+
+    @BeforeAll
+    static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    private static FuelValues fuels(int coal, int stick) {
+        return new FuelValues.Builder(HolderLookup.Provider.create(Stream.of(BuiltInRegistries.ITEM)),
+                FeatureFlags.VANILLA_SET)
+                .add(Items.COAL, coal)
+                .add(Items.STICK, stick)
+                .build();
+    }
+
+    @Test
+    void testLookups() {
+        var context = new CachingBurningContext(fuels(1600, 100));
+
+        assertEquals(1600, context.burnDuration(Items.COAL));
+        assertEquals(100, context.burnDuration(new ItemStack(Items.STICK)));
+        assertEquals(0, context.burnDuration(Items.DIRT));
+        assertTrue(context.isFuel(Items.COAL));
+        assertFalse(context.isFuel(Items.DIRT));
+        assertFalse(context.isComponentSensitive());
+        assertEquals(Items.STICK, context.getFuelLadder().bestFit(50d));
+        assertEquals(Items.COAL, context.getFuelLadder().bestFit(200d));
+    }
+
+    @Test
+    void testReload() {
+        var context = new CachingBurningContext(fuels(1600, 100));
+        var ladder = context.getFuelLadder();
+        int generation = CachingBurningContext.generation();
+
+        context.reload(fuels(800, 400));
+
+        assertEquals(generation + 1, CachingBurningContext.generation());
+        assertEquals(800, context.burnDuration(Items.COAL));
+        assertEquals(400, context.burnDuration(Items.STICK));
+        assertNotSame(ladder, context.getFuelLadder());
+        assertEquals(Items.STICK, context.getFuelLadder().bestFit(200d));
+    }
+}
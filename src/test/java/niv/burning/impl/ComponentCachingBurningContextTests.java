@@ -0,0 +1,102 @@
+package niv.burning.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import niv.burning.api.BurningContext;
+
+class ComponentCachingBurningContextTests {
+
+    @BeforeAll
+    static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    private static final class CountingBurningContext implements BurningContext {
+
+        private int lookups = 0;
+
+        @Override
+        public boolean isFuel(ItemStack itemStack) {
+            return true;
+        }
+
+        @Override
+        public int burnDuration(ItemStack itemStack) {
+            this.lookups++;
+            return itemStack.has(DataComponents.CUSTOM_NAME) ? 200 : 100;
+        }
+
+        @Override
+        public boolean isComponentSensitive() {
+            return true;
+        }
+    }
+
+    private static ItemStack named(String name) {
+        var stack = new ItemStack(Items.STICK);
+        stack.set(DataComponents.CUSTOM_NAME, Component.literal(name));
+        return stack;
+    }
+
+    @Test
+    void testCapacity() {
+        var source = new CountingBurningContext();
+        assertThrows(IllegalArgumentException.class, () -> new ComponentCachingBurningContext(source, 0));
+    }
+
+    @Test
+    void testCounters() {
+        var source = new CountingBurningContext();
+        var context = new ComponentCachingBurningContext(source, 4);
+
+        assertEquals(100, context.burnDuration(new ItemStack(Items.STICK)));
+        assertEquals(200, context.burnDuration(named("a")));
+        assertEquals(100, context.burnDuration(new ItemStack(Items.STICK)));
+        assertEquals(200, context.burnDuration(named("a")));
+        assertEquals(200, context.burnDuration(named("b")));
+
+        assertEquals(2L, context.getHitCount());
+        assertEquals(3L, context.getMissCount());
+        assertEquals(3, context.size());
+        assertEquals(3, source.lookups);
+
+        context.invalidate();
+        assertEquals(0, context.size());
+        assertEquals(200, context.burnDuration(named("a")));
+        assertEquals(4L, context.getMissCount());
+    }
+
+    @Test
+    void testEviction() {
+        var source = new CountingBurningContext();
+        var context = new ComponentCachingBurningContext(source, 2);
+
+        context.burnDuration(named("a"));
+        context.burnDuration(named("b"));
+        // touching a makes b the least recently used entry
+        context.burnDuration(named("a"));
+        context.burnDuration(named("c"));
+
+        assertEquals(2, context.size());
+        assertEquals(1L, context.getHitCount());
+        assertEquals(3L, context.getMissCount());
+
+        context.burnDuration(named("a"));
+        assertEquals(2L, context.getHitCount());
+
+        context.burnDuration(named("b"));
+        assertEquals(4L, context.getMissCount());
+        assertEquals(2, context.size());
+    }
+}